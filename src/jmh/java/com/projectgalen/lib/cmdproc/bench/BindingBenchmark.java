@@ -0,0 +1,71 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: BindingBenchmark.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CompiledCmdProc;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting and binding a single value of each kind of type, either to a static field or to a record created with
+ * {@link CompiledCmdProc#forType(Class, boolean)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BindingBenchmark {
+
+    @Param({ "int", "long", "double", "string", "enum", "path" })
+    public String kind;
+
+    private CompiledCmdProc staticProc;
+    private CompiledCmdProc recordProc;
+    private String[]        args;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        staticProc = new CompiledCmdProc(false, BindingOptions.class);
+        recordProc = CompiledCmdProc.forType(BindingOptions.Instance.class, false);
+        args       = new String[] { "--%s=%s".formatted(kind, value(kind)) };
+    }
+
+    @Benchmark
+    public BindingOptions.Instance bindRecord() {
+        return recordProc.parse(BindingOptions.Instance.class, args);
+    }
+
+    @Benchmark
+    public boolean bindStatic() {
+        return staticProc.processCommandLine(args);
+    }
+
+    private static String value(String kind) {
+        return switch(kind) {/*@f0*/
+            case "int"    -> "42";
+            case "long"   -> "4200000000";
+            case "double" -> "4.2";
+            case "enum"   -> "SECONDS";
+            case "path"   -> "/tmp/forty/two";
+            default       -> "forty-two";
+        };/*@f1*/
+    }
+}
@@ -0,0 +1,49 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: BindingOptions.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One parameter of each kind of type that values are converted to.
+ */
+@SuppressWarnings("unused")
+public final class BindingOptions {
+
+    static @CmdParam(longName = "int")    int      intValue;
+    static @CmdParam(longName = "long")   long     longValue;
+    static @CmdParam(longName = "double") double   doubleValue;
+    static @CmdParam(longName = "string") String   stringValue;
+    static @CmdParam(longName = "enum")   TimeUnit enumValue;
+    static @CmdParam(longName = "path")   Path     pathValue;
+
+    private BindingOptions() { }
+
+    /**
+     * The same parameters bound to a record instead of static fields.
+     */
+    public record Instance(@CmdParam(longName = "int") int intValue,
+                           @CmdParam(longName = "long") long longValue,
+                           @CmdParam(longName = "double") double doubleValue,
+                           @CmdParam(longName = "string") String stringValue,
+                           @CmdParam(longName = "enum") TimeUnit enumValue,
+                           @CmdParam(longName = "path") Path pathValue) { }
+}
@@ -0,0 +1,97 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: LargeOptions.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdOther;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+
+import java.util.List;
+
+/**
+ * 32 parameters of mixed types and 16 flags with short names {@code -a} through {@code -p}.
+ */
+@SuppressWarnings("unused")
+public final class LargeOptions {
+    static @CmdParam(longName = "param-00") int param00;
+    static @CmdParam(longName = "param-01") long param01;
+    static @CmdParam(longName = "param-02") double param02;
+    static @CmdParam(longName = "param-03") String param03;
+    static @CmdParam(longName = "param-04") java.nio.file.Path param04;
+    static @CmdParam(longName = "param-05") java.util.concurrent.TimeUnit param05;
+    static @CmdParam(longName = "param-06") int param06;
+    static @CmdParam(longName = "param-07") long param07;
+    static @CmdParam(longName = "param-08") double param08;
+    static @CmdParam(longName = "param-09") String param09;
+    static @CmdParam(longName = "param-10") java.nio.file.Path param10;
+    static @CmdParam(longName = "param-11") java.util.concurrent.TimeUnit param11;
+    static @CmdParam(longName = "param-12") int param12;
+    static @CmdParam(longName = "param-13") long param13;
+    static @CmdParam(longName = "param-14") double param14;
+    static @CmdParam(longName = "param-15") String param15;
+    static @CmdParam(longName = "param-16") java.nio.file.Path param16;
+    static @CmdParam(longName = "param-17") java.util.concurrent.TimeUnit param17;
+    static @CmdParam(longName = "param-18") int param18;
+    static @CmdParam(longName = "param-19") long param19;
+    static @CmdParam(longName = "param-20") double param20;
+    static @CmdParam(longName = "param-21") String param21;
+    static @CmdParam(longName = "param-22") java.nio.file.Path param22;
+    static @CmdParam(longName = "param-23") java.util.concurrent.TimeUnit param23;
+    static @CmdParam(longName = "param-24") int param24;
+    static @CmdParam(longName = "param-25") long param25;
+    static @CmdParam(longName = "param-26") double param26;
+    static @CmdParam(longName = "param-27") String param27;
+    static @CmdParam(longName = "param-28") java.nio.file.Path param28;
+    static @CmdParam(longName = "param-29") java.util.concurrent.TimeUnit param29;
+    static @CmdParam(longName = "param-30") int param30;
+    static @CmdParam(longName = "param-31") long param31;
+    static @CmdFlag(longName = "flag-00", shortName = 'a') boolean flag00;
+    static @CmdFlag(longName = "flag-01", shortName = 'b') boolean flag01;
+    static @CmdFlag(longName = "flag-02", shortName = 'c') boolean flag02;
+    static @CmdFlag(longName = "flag-03", shortName = 'd') boolean flag03;
+    static @CmdFlag(longName = "flag-04", shortName = 'e') boolean flag04;
+    static @CmdFlag(longName = "flag-05", shortName = 'f') boolean flag05;
+    static @CmdFlag(longName = "flag-06", shortName = 'g') boolean flag06;
+    static @CmdFlag(longName = "flag-07", shortName = 'h') boolean flag07;
+    static @CmdFlag(longName = "flag-08", shortName = 'i') boolean flag08;
+    static @CmdFlag(longName = "flag-09", shortName = 'j') boolean flag09;
+    static @CmdFlag(longName = "flag-10", shortName = 'k') boolean flag10;
+    static @CmdFlag(longName = "flag-11", shortName = 'l') boolean flag11;
+    static @CmdFlag(longName = "flag-12", shortName = 'm') boolean flag12;
+    static @CmdFlag(longName = "flag-13", shortName = 'n') boolean flag13;
+    static @CmdFlag(longName = "flag-14", shortName = 'o') boolean flag14;
+    static @CmdFlag(longName = "flag-15", shortName = 'p') boolean flag15;
+
+    static @CmdOther List<String> files;
+
+    private LargeOptions() { }
+
+    /**
+     * Returns a value for the parameter with the given index that can be converted to it's type.
+     */
+    static String sampleValue(int i) {
+        return switch(i % 6) {/*@f0*/
+            case 0  -> Integer.toString(i * 1000);
+            case 1  -> Long.toString(i * 1000000000L);
+            case 2  -> Double.toString(i * 1.5);
+            case 3  -> "value-" + i;
+            case 4  -> "/tmp/path/" + i;
+            default -> "SECONDS";
+        };/*@f1*/
+    }
+}
@@ -0,0 +1,86 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ParseBenchmark.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CompiledCmdProc;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CompiledCmdProc#processCommandLine(String...)} on argument vectors of different lengths and on clustered short flags. The parser is built
+ * once so only the parse itself is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParseBenchmark {
+
+    private CompiledCmdProc proc;
+    private String[]        shortArgs;
+    private String[]        longArgs;
+    private String[]        veryLongArgs;
+    private String[]        clusteredArgs;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        proc = new CompiledCmdProc(false, LargeOptions.class);
+
+        shortArgs = new String[] { "--param-00=1", "-a", "file.txt" };
+
+        List<String> list = new ArrayList<>();
+        for(int i = 0; i < 32; i++) {
+            // Alternate between --name=value and --name value...
+            if((i % 2) == 0) list.add("--param-%02d=%s".formatted(i, LargeOptions.sampleValue(i)));
+            else list.addAll(List.of("--param-%02d".formatted(i), LargeOptions.sampleValue(i)));
+        }
+        for(int i = 0; i < 16; i++) list.add("--flag-%02d".formatted(i));
+        for(int i = 0; i < 16; i++) list.add("file-%02d.txt".formatted(i));
+        longArgs = list.toArray(String[]::new);
+
+        for(int i = 0; i < 10_000; i++) list.add("file-%05d.txt".formatted(i));
+        veryLongArgs = list.toArray(String[]::new);
+
+        clusteredArgs = new String[] { "-abcdefgh", "-ijklmnop", "-a-b-c-d-e-f-g-h", "-i-j-k-l-m-n-o-p", "-ponmlkjihgfedcba" };
+    }
+
+    @Benchmark
+    public boolean clusteredShortFlags() {
+        return proc.processCommandLine(clusteredArgs);
+    }
+
+    @Benchmark
+    public boolean longVector() {
+        return proc.processCommandLine(longArgs);
+    }
+
+    @Benchmark
+    public boolean shortVector() {
+        return proc.processCommandLine(shortArgs);
+    }
+
+    @Benchmark
+    public boolean veryLongVector() {
+        return proc.processCommandLine(veryLongArgs);
+    }
+}
@@ -0,0 +1,117 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ScanBenchmark.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CmdLnInfo;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building a {@link CmdLnInfo} from annotated classes. The {@code cached} benchmarks use classes that have already been scanned, which is the normal
+ * case for a CLI that builds parsers for several subcommands. The {@code cold} benchmarks load the option classes, and their generated binders, through a new
+ * class loader for every invocation so that nothing is cached. Their times include defining the classes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ScanBenchmark {
+
+    private Class<?>[] small;
+    private Class<?>[] large;
+    private Class<?>[] subcommands;
+    private Class<?>[] coldSmall;
+    private Class<?>[] coldLarge;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        small       = new Class<?>[] { SubcommandOptions.Base.class };
+        large       = new Class<?>[] { LargeOptions.class };
+        subcommands = SubcommandOptions.ALL;
+    }
+
+    @Setup(Level.Invocation)
+    public void setupCold() throws ClassNotFoundException {
+        FreshLoader loader = new FreshLoader();
+        coldSmall = new Class<?>[] { loader.loadClass(SubcommandOptions.Base.class.getName()) };
+        coldLarge = new Class<?>[] { loader.loadClass(LargeOptions.class.getName()) };
+    }
+
+    @Benchmark
+    public CmdLnInfo cachedLarge() {
+        return CmdLnInfo.findAnnotatedMembers(large);
+    }
+
+    @Benchmark
+    public CmdLnInfo cachedSmall() {
+        return CmdLnInfo.findAnnotatedMembers(small);
+    }
+
+    @Benchmark
+    public CmdLnInfo cachedSubcommands() {
+        return CmdLnInfo.findAnnotatedMembers(subcommands);
+    }
+
+    @Benchmark
+    public CmdLnInfo coldLarge() {
+        return CmdLnInfo.findAnnotatedMembers(coldLarge);
+    }
+
+    @Benchmark
+    public CmdLnInfo coldSmall() {
+        return CmdLnInfo.findAnnotatedMembers(coldSmall);
+    }
+
+    /**
+     * Defines it's own copy of the option classes of this package. Everything else comes from the parent.
+     */
+    private static final class FreshLoader extends ClassLoader {
+        private static final String PREFIX = (ScanBenchmark.class.getPackageName() + ".");
+
+        FreshLoader() {
+            super(ScanBenchmark.class.getClassLoader());
+        }
+
+        protected @Override Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if(!(name.startsWith(PREFIX) && name.contains("Options"))) return super.loadClass(name, resolve);
+
+            synchronized(getClassLoadingLock(name)) {
+                Class<?> cls = findLoadedClass(name);
+                if(cls == null) cls = findClass(name);
+                if(resolve) resolveClass(cls);
+                return cls;
+            }
+        }
+
+        protected @Override Class<?> findClass(String name) throws ClassNotFoundException {
+            try(InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                if(in == null) throw new ClassNotFoundException(name);
+                byte[] bytes = in.readAllBytes();
+                return defineClass(name, bytes, 0, bytes.length);
+            }
+            catch(IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ServerBenchmark.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CompiledCmdProc;
+import com.projectgalen.lib.cmdproc.server.CommandClient;
+import com.projectgalen.lib.cmdproc.server.CommandServer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the number of invocations per second of a command run on a warm {@link CommandServer} with launching a new JVM for every run. Both run the same
+ * command - binding {@link BindingOptions.Instance} - so the difference is the cost of starting and warming up a JVM. Run with {@code -t 8} to see how the
+ * server scales with concurrent clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServerBenchmark {
+
+    private static final String[] ARGS = { "--int=42", "--string=forty-two", "--path=/tmp/forty/two" };
+
+    private Path          dir;
+    private Path          socket;
+    private CommandServer server;
+    private Thread        serverThread;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir          = Files.createTempDirectory("cmdproc");
+        socket       = dir.resolve("bench.sock");
+        server       = new CommandServer(socket).add("bind", BindingOptions.Instance.class, (options, ctx) -> ((options.intValue() == 42) ? 0 : 1));
+        serverThread = Thread.ofPlatform().start(() -> {
+            try {
+                server.serve();
+            }
+            catch(IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        while(!Files.exists(socket)) Thread.sleep(10);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        server.close();
+        serverThread.join();
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 1, time = 5)
+    @Measurement(iterations = 3, time = 5)
+    public int coldLaunch() throws Exception {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), ColdMain.class.getName()).inheritIO().start().waitFor();
+    }
+
+    @Benchmark
+    public int warmServer() throws IOException {
+        return CommandClient.run(socket, "bind", ARGS, Map.of(), null, OutputStream.nullOutputStream(), OutputStream.nullOutputStream());
+    }
+
+    /**
+     * The same command run the way a cold launch runs it.
+     */
+    public static final class ColdMain {
+        public static void main(String... args) {
+            BindingOptions.Instance options = CompiledCmdProc.forType(BindingOptions.Instance.class, false).parse(BindingOptions.Instance.class, ARGS);
+            System.exit((options.intValue() == 42) ? 0 : 1);
+        }
+    }
+}
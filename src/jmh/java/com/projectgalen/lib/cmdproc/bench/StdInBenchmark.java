@@ -0,0 +1,87 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: StdInBenchmark.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.StdIn;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the lines of a large file with {@link StdIn}, as a filter given {@code -} would read STDIN, against the usual {@link BufferedReader}. The
+ * file is read from the page cache so the difference is the cost of splitting and decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StdInBenchmark {
+
+    @Param({ "1000000" })
+    public int lines;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("cmdproc", ".txt");
+        try(var out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for(int i = 0; i < lines; i++) out.write("--id=%d --queue=fast -r run some-thing arg%d\n".formatted(i, (i * 7919)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public long bufferedReader() throws IOException {
+        long chars = 0;
+        try(BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for(String line; (line = in.readLine()) != null; ) chars += line.length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public long stdInLines() throws IOException {
+        long[] chars = { 0 };
+        try(FileChannel channel = FileChannel.open(file)) {
+            new StdIn(channel, StdIn.DEFAULT_BUFFER_SIZE).forEachLine(line -> chars[0] += line.length());
+        }
+        return chars[0];
+    }
+
+    @Benchmark
+    public long stdInRecords() throws IOException {
+        long[] bytes = { 0 };
+        try(FileChannel channel = FileChannel.open(file)) {
+            new StdIn(channel, StdIn.DEFAULT_BUFFER_SIZE).forEachRecord((byte)'\n', record -> bytes[0] += record.remaining());
+        }
+        return bytes[0];
+    }
+}
@@ -0,0 +1,113 @@
+package com.projectgalen.lib.cmdproc.bench;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: SubcommandOptions.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdOther;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+
+/**
+ * Eight subcommands that share a common base class, the way a CLI with many subcommands is usually laid out.
+ */
+@SuppressWarnings("unused")
+public final class SubcommandOptions {
+
+    static final Class<?>[] ALL = { Sub1.class, Sub2.class, Sub3.class, Sub4.class, Sub5.class, Sub6.class, Sub7.class, Sub8.class };
+
+    private SubcommandOptions() { }
+
+    public static class Base {
+        static @CmdFlag(longName = "verbose", shortName = 'v') boolean  verbose;
+        static @CmdFlag(longName = "quiet", shortName = 'q')   boolean  quiet;
+        static @CmdParam(longName = "config", shortName = 'c') String   config;
+        static @CmdParam(longName = "threads")                 int      threads;
+        static @CmdOther                                       String[] others;
+    }
+
+    public static class Sub1 extends Base {
+        static @CmdParam(longName = "sub1-param-0") String param0;
+        static @CmdParam(longName = "sub1-param-1") String param1;
+        static @CmdParam(longName = "sub1-param-2") String param2;
+        static @CmdParam(longName = "sub1-param-3") String param3;
+        static @CmdParam(longName = "sub1-param-4") String param4;
+        static @CmdParam(longName = "sub1-param-5") String param5;
+    }
+
+    public static class Sub2 extends Base {
+        static @CmdParam(longName = "sub2-param-0") String param0;
+        static @CmdParam(longName = "sub2-param-1") String param1;
+        static @CmdParam(longName = "sub2-param-2") String param2;
+        static @CmdParam(longName = "sub2-param-3") String param3;
+        static @CmdParam(longName = "sub2-param-4") String param4;
+        static @CmdParam(longName = "sub2-param-5") String param5;
+    }
+
+    public static class Sub3 extends Base {
+        static @CmdParam(longName = "sub3-param-0") String param0;
+        static @CmdParam(longName = "sub3-param-1") String param1;
+        static @CmdParam(longName = "sub3-param-2") String param2;
+        static @CmdParam(longName = "sub3-param-3") String param3;
+        static @CmdParam(longName = "sub3-param-4") String param4;
+        static @CmdParam(longName = "sub3-param-5") String param5;
+    }
+
+    public static class Sub4 extends Base {
+        static @CmdParam(longName = "sub4-param-0") String param0;
+        static @CmdParam(longName = "sub4-param-1") String param1;
+        static @CmdParam(longName = "sub4-param-2") String param2;
+        static @CmdParam(longName = "sub4-param-3") String param3;
+        static @CmdParam(longName = "sub4-param-4") String param4;
+        static @CmdParam(longName = "sub4-param-5") String param5;
+    }
+
+    public static class Sub5 extends Base {
+        static @CmdParam(longName = "sub5-param-0") String param0;
+        static @CmdParam(longName = "sub5-param-1") String param1;
+        static @CmdParam(longName = "sub5-param-2") String param2;
+        static @CmdParam(longName = "sub5-param-3") String param3;
+        static @CmdParam(longName = "sub5-param-4") String param4;
+        static @CmdParam(longName = "sub5-param-5") String param5;
+    }
+
+    public static class Sub6 extends Base {
+        static @CmdParam(longName = "sub6-param-0") String param0;
+        static @CmdParam(longName = "sub6-param-1") String param1;
+        static @CmdParam(longName = "sub6-param-2") String param2;
+        static @CmdParam(longName = "sub6-param-3") String param3;
+        static @CmdParam(longName = "sub6-param-4") String param4;
+        static @CmdParam(longName = "sub6-param-5") String param5;
+    }
+
+    public static class Sub7 extends Base {
+        static @CmdParam(longName = "sub7-param-0") String param0;
+        static @CmdParam(longName = "sub7-param-1") String param1;
+        static @CmdParam(longName = "sub7-param-2") String param2;
+        static @CmdParam(longName = "sub7-param-3") String param3;
+        static @CmdParam(longName = "sub7-param-4") String param4;
+        static @CmdParam(longName = "sub7-param-5") String param5;
+    }
+
+    public static class Sub8 extends Base {
+        static @CmdParam(longName = "sub8-param-0") String param0;
+        static @CmdParam(longName = "sub8-param-1") String param1;
+        static @CmdParam(longName = "sub8-param-2") String param2;
+        static @CmdParam(longName = "sub8-param-3") String param3;
+        static @CmdParam(longName = "sub8-param-4") String param4;
+        static @CmdParam(longName = "sub8-param-5") String param5;
+    }
+}
@@ -0,0 +1,224 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: AnnotationIndex.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.ClassFileReader.IndexedClass;
+import com.projectgalen.lib.cmdproc.ClassFileReader.IndexedMember;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Modifier;
+import java.security.ProtectionDomain;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The classes with annotated members found by the agent as they were loaded. The transformer does not change the classes - it reads the class files, which it
+ * is handed anyway, and remembers the annotated members by name. When {@link ClassMetadata} later needs the members of one of those classes it resolves their
+ * handles directly instead of listing and inspecting every field and method with reflection.
+ * <p>
+ * Only the simple cases are handled here. Records, and any member that would fail validation, are left to the reflection scan so that it reports the errors
+ * exactly as it always has. The classes are remembered per class loader and are forgotten when the class loader is.
+ */
+final class AnnotationIndex implements ClassFileTransformer {
+
+    private static final    Pattern                                     RX_STRINGS = Pattern.compile("L([^<;]+)<[+-]?Ljava/lang/String;>;");
+    private static final    Map<ClassLoader, Map<String, IndexedClass>> CLASSES    = Collections.synchronizedMap(new WeakHashMap<>());
+    private static volatile boolean                                     installed  = false;
+
+    private AnnotationIndex() { }
+
+    public @Override byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] bytes) {
+        if((loader == null) || (className == null) || (classBeingRedefined != null) || !ClassFileReader.mentionsAnnotations(bytes)) return null;
+        // Our own classes only mention the annotations...
+        if(className.startsWith(ClassFileReader.ANNOTATIONS)) return null;
+
+        try {
+            IndexedClass ic = ClassFileReader.read(bytes);
+            if(ic != null) CLASSES.computeIfAbsent(loader, k -> new ConcurrentHashMap<>()).put(className.replace('/', '.'), ic);
+        }
+        catch(RuntimeException ignored) {
+            // The reflection scan will take care of it.
+        }
+        return null;
+    }
+
+    /**
+     * Builds the flags, parameters and "others" for the given class from what the agent found when it was loaded.
+     *
+     * @param cls        The class.
+     * @param instance   {@code true} if the members will be bound to an instance of the class.
+     * @param cmdLnData  Receives the flags and parameters.
+     * @param cmdLnOther Receives the "others".
+     * @return {@code false} if the class has to be scanned with reflection instead.
+     */
+    static boolean bind(@NotNull Class<?> cls, boolean instance, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        return bind(cls, find(cls), instance, cmdLnData, cmdLnOther);
+    }
+
+    /**
+     * Builds the flags, parameters and "others" for the given class from the members read from it's class file.
+     *
+     * @param cls        The class.
+     * @param ic         The annotated members of the class or {@code null} if the class file wasn't read.
+     * @param instance   {@code true} if the members will be bound to an instance of the class.
+     * @param cmdLnData  Receives the flags and parameters.
+     * @param cmdLnOther Receives the "others".
+     * @return {@code false} if the class has to be scanned with reflection instead.
+     */
+    static boolean bind(@NotNull Class<?> cls, @Nullable IndexedClass ic, boolean instance, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        if((ic == null) || ic.isRecord()) return false;
+
+        List<FPData> data   = new ArrayList<>();
+        List<OData>  others = new ArrayList<>();
+
+        try {
+            for(IndexedMember m : ic.members()) {
+                boolean isStatic = Modifier.isStatic(m.access());
+
+                if(!(isStatic || instance) || (m.isField() && Modifier.isFinal(m.access()))) return false;
+                if((m.flag() != null) || (m.param() != null)) {
+                    FPData fp = flagOrParam(cls, m, isStatic);
+                    if(fp == null) return false;
+                    data.add(fp);
+                }
+                if(m.other()) {
+                    OData od = other(cls, m, isStatic);
+                    if(od == null) return false;
+                    others.add(od);
+                }
+            }
+        }
+        catch(ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+
+        cmdLnData.addAll(data);
+        cmdLnOther.addAll(others);
+        return true;
+    }
+
+    /**
+     * Starts indexing the classes that are loaded from now on.
+     */
+    static synchronized void install(@NotNull Instrumentation inst) {
+        if(!installed) {
+            inst.addTransformer(new AnnotationIndex());
+            installed = true;
+        }
+    }
+
+    private static @NotNull Class<?> classFor(@NotNull String internalName, @NotNull Class<?> owner) throws ClassNotFoundException {
+        return Class.forName(internalName.replace('/', '.'), false, owner.getClassLoader());
+    }
+
+    private static @Nullable OData.Delivery delivery(@NotNull Class<?> cls, @NotNull IndexedMember m) throws ClassNotFoundException {
+        String type      = valueType(m.descriptor(), m.isField());
+        String signature = ((m.signature() == null) ? null : valueType(m.signature(), m.isField()));
+
+        if(type == null) return null;
+        if(type.equals("[Ljava/lang/String;")) return OData.Delivery.ARRAY;
+        if(type.equals("Ljava/lang/String;")) return (m.isField() ? null : OData.Delivery.CONSUMER);
+        if(signature == null) return null;
+
+        Matcher matcher = RX_STRINGS.matcher(signature);
+        if(!matcher.matches()) return null;
+
+        String raw = matcher.group(1);
+        if(raw.equals("java/util/Iterator")) return OData.Delivery.ITERATOR;
+        if(raw.equals("java/util/stream/Stream")) return OData.Delivery.STREAM;
+
+        Class<?> rawClass = classFor(raw, cls);
+        return (rawClass.isAssignableFrom(ArrayList.class) ? OData.Delivery.LIST : null);
+    }
+
+    private static @Nullable IndexedClass find(@NotNull Class<?> cls) {
+        if(!installed || (cls.getClassLoader() == null)) return null;
+        Map<String, IndexedClass> classes = CLASSES.get(cls.getClassLoader());
+        return ((classes == null) ? null : classes.get(cls.getName()));
+    }
+
+    private static @Nullable FPData flagOrParam(@NotNull Class<?> cls, @NotNull IndexedMember m, boolean isStatic) throws ReflectiveOperationException {
+        if((m.flag() != null) && (m.param() != null)) return null;
+        if(!(m.isField() || (valueType(m.descriptor(), false) != null))) return null;
+
+        boolean             isFlag    = (m.flag() != null);
+        Map<String, Object> values    = (isFlag ? m.flag() : m.param());
+        String              longName  = ((String)values.getOrDefault("longName", "")).trim();
+        int                 shortName = (Integer)values.getOrDefault("shortName", 0);
+        if(longName.isEmpty() && (shortName == 0)) return null;
+
+        Object[]     allowed = (Object[])values.getOrDefault("allowedValues", new Object[0]);
+        MethodHandle mh      = MemberBinding.setterHandle(cls, m.name(), m.descriptor(), m.isField(), isStatic);
+        // Repeatable parameters, counted flags and lazy values need the generic type of the member. Leave them to the reflection scan.
+        Class<?> type = mh.type().parameterType(1);
+        if(ValueBuffer.isRepeatable(type, isFlag) || Lazy.isLazy(type)) return null;
+        return new FPData(isFlag,
+                          ((Integer)values.getOrDefault("required", 0) != 0),
+                          longName,
+                          shortName,
+                          ((String)values.getOrDefault("documentation", "")).trim(),
+                          Arrays.copyOf(allowed, allowed.length, String[].class),
+                          memberName(cls, m),
+                          MemberBinding.forValue(mh));
+    }
+
+    private static @NotNull String memberName(@NotNull Class<?> cls, @NotNull IndexedMember m) {
+        if(m.isField()) return "%s.%s".formatted(cls.getName(), m.name());
+        return "%s.%s(%s)".formatted(cls.getName(), m.name(), MethodType.fromMethodDescriptorString(m.descriptor(), cls.getClassLoader()).parameterType(0).getTypeName());
+    }
+
+    private static @Nullable OData other(@NotNull Class<?> cls, @NotNull IndexedMember m, boolean isStatic) throws ReflectiveOperationException {
+        OData.Delivery delivery = delivery(cls, m);
+        if(delivery == null) return null;
+
+        MethodHandle mh = MemberBinding.setterHandle(cls, m.name(), m.descriptor(), m.isField(), isStatic);
+        if(delivery.collects()) return new OData(memberName(cls, m), (delivery == OData.Delivery.ARRAY), MemberBinding.forValues(mh, (delivery == OData.Delivery.ARRAY)));
+        return new OData(memberName(cls, m), delivery, MemberBinding.forReceiver(mh));
+    }
+
+    /**
+     * Returns the type of a field or the type of the single parameter of a method, from either a descriptor or a signature.
+     */
+    private static @Nullable String valueType(@NotNull String descriptor, boolean isField) {
+        if(isField) return descriptor;
+        if(!descriptor.startsWith("(")) return null;
+
+        // Exactly one parameter - an object, an array, or a primitive.
+        String params = descriptor.substring(1, descriptor.lastIndexOf(')'));
+        int    i      = 0;
+        while((i < params.length()) && (params.charAt(i) == '[')) i++;
+        if(i == params.length()) return null;
+        if(params.charAt(i) == 'L') {
+            int depth = 0;
+            for(i++; i < params.length(); i++) {
+                char ch = params.charAt(i);
+                if(ch == '<') depth++;
+                else if(ch == '>') depth--;
+                else if((ch == ';') && (depth == 0)) break;
+            }
+        }
+        return (((i + 1) == params.length()) ? params : null);
+    }
+}
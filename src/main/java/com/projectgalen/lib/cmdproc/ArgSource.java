@@ -0,0 +1,275 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ArgSource.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+import java.util.ResourceBundle;
+
+/**
+ * Supplies the arguments of a parse one at a time. When argument files are enabled an argument of the form {@code @file} is replaced by the arguments read
+ * from that file, in the same way as {@code javac} does, and {@code @@text} stands for the literal argument {@code @text}. Argument files can name other
+ * argument files. Relative paths are resolved against the current directory.
+ * <p>
+ * The files are read through {@link FileChannel#map(FileChannel.MapMode, long, long)} and split into arguments straight from the mapped buffer, one argument at
+ * a time as the parser asks for it, so even very large files never have all of their arguments on the heap at once. Within a file:
+ * <ul>
+ *     <li>Arguments are separated by white space.</li>
+ *     <li>Text in double quotes can contain white space and the escapes {@code \n}, {@code \t}, {@code \r}, {@code \f}, {@code \"} and {@code \\}.</li>
+ *     <li>Text in single quotes is taken as is.</li>
+ *     <li>Outside of quotes a backslash takes the next character as is and a backslash at the end of a line joins it to the next line.</li>
+ *     <li>A {@code #} at the start of an argument starts a comment that runs to the end of the line.</li>
+ * </ul>
+ * The files are expected to be UTF-8.
+ * <p>
+ * The arguments can also come from a whole command-line in a single {@link CharSequence}, which is split up by a {@link LineTokenizer}. Arguments read with
+ * {@link #nextRaw()} may then be views of the command-line rather than strings. Not thread safe.
+ */
+final class ArgSource {
+
+    private static final ResourceBundle msgs   = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final long           WINDOW = (1L << 30);
+
+    private final String[]          args;
+    private final LineTokenizer     line;
+    private final boolean           expandArgFiles;
+    private final Deque<MappedFile> files    = new ArrayDeque<>();
+    private       byte[]            token    = new byte[256];
+    private       int               tokenLen = 0;
+    private       CharSequence      next     = null;
+    private       int               argIdx   = 0;
+
+    ArgSource(String @NotNull [] args, boolean expandArgFiles) {
+        this.args           = args;
+        this.line           = null;
+        this.expandArgFiles = expandArgFiles;
+    }
+
+    ArgSource(@NotNull CharSequence commandLine, boolean expandArgFiles) {
+        this.args           = new String[0];
+        this.line           = new LineTokenizer(commandLine);
+        this.expandArgFiles = expandArgFiles;
+    }
+
+    boolean hasNext() {
+        return (peek() != null);
+    }
+
+    /**
+     * Returns the next argument.
+     *
+     * @return The argument.
+     * @throws IllegalArgumentException If an argument file cannot be read.
+     * @throws NoSuchElementException If there are no more arguments.
+     */
+    @NotNull String next() {
+        return nextRaw().toString();
+    }
+
+    /**
+     * Returns the next argument without turning it into a {@link String}.
+     *
+     * @return The argument.
+     * @throws IllegalArgumentException If an argument file cannot be read.
+     * @throws NoSuchElementException If there are no more arguments.
+     */
+    @NotNull CharSequence nextRaw() {
+        CharSequence arg = peek();
+        if(arg == null) throw new NoSuchElementException();
+        next = null;
+        return arg;
+    }
+
+    /**
+     * Returns the next argument without taking it.
+     *
+     * @return The argument or {@code null} if there are no more.
+     * @throws IllegalArgumentException If an argument file cannot be read.
+     */
+    @Nullable CharSequence peek() {
+        while(next == null) {
+            CharSequence arg = read();
+
+            if(arg == null) return null;
+            if(!expandArgFiles || (arg.length() < 2) || (arg.charAt(0) != '@')) next = arg;
+            else if(arg.charAt(1) == '@') next = arg.subSequence(1, arg.length());
+            else open(arg.subSequence(1, arg.length()).toString());
+        }
+        return next;
+    }
+
+    private void append(int b) {
+        if(tokenLen == token.length) token = Arrays.copyOf(token, (token.length * 2));
+        token[tokenLen++] = (byte)b;
+    }
+
+    private void open(@NotNull String name) {
+        Path path = Path.of(name);
+
+        try {
+            Path real = path.toRealPath();
+            for(MappedFile f : files) if(f.path.equals(real)) throw new IllegalArgumentException(msgs.getString("msg.err.argfile_cycle").formatted(name));
+            files.push(new MappedFile(real));
+        }
+        catch(IOException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.argfile").formatted(name, e), e);
+        }
+    }
+
+    private @Nullable CharSequence read() {
+        while(!files.isEmpty()) {
+            MappedFile file = files.peek();
+
+            try {
+                if(file.readToken()) return new String(token, 0, tokenLen, StandardCharsets.UTF_8);
+                files.pop().close();
+            }
+            catch(IOException e) {
+                files.forEach(MappedFile::close);
+                files.clear();
+                throw new IllegalArgumentException(msgs.getString("msg.err.argfile").formatted(file.path, e), e);
+            }
+        }
+        if(line != null) return line.next();
+        return ((argIdx < args.length) ? args[argIdx++] : null);
+    }
+
+    /**
+     * An argument file. Files that fit in a single window are mapped once and the channel is closed right away, larger ones are mapped a window at a time.
+     */
+    private final class MappedFile {
+        private final Path             path;
+        private final long             size;
+        private       FileChannel      channel;
+        private       MappedByteBuffer window;
+        private       long             windowStart = 0;
+        private       long             pos         = 0;
+
+        MappedFile(@NotNull Path path) throws IOException {
+            this.path    = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ);
+            this.size    = channel.size();
+            map(0);
+            if(size <= WINDOW) close();
+        }
+
+        void close() {
+            try {
+                if(channel != null) channel.close();
+            }
+            catch(IOException ignored) { }
+            channel = null;
+        }
+
+        /**
+         * Reads the next argument into the token buffer.
+         *
+         * @return {@code false} if there are no more arguments in the file.
+         */
+        boolean readToken() throws IOException {
+            int b = skipSpaceAndComments();
+            if(b < 0) return false;
+
+            tokenLen = 0;
+            while((b >= 0) && !isSpace(b)) {
+                if((b == '"') || (b == '\'')) {
+                    readQuoted(b);
+                }
+                else if(b == '\\') {
+                    b = read();
+                    if(b == '\r') {
+                        if(peekByte() == '\n') ++pos;
+                    }
+                    else if((b >= 0) && (b != '\n')) {
+                        append(b);
+                    }
+                }
+                else {
+                    append(b);
+                }
+                b = read();
+            }
+            return true;
+        }
+
+        private void map(long start) throws IOException {
+            windowStart = start;
+            window      = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, (size - start)));
+        }
+
+        private int peekByte() throws IOException {
+            if(pos >= size) return -1;
+            if(pos >= (windowStart + window.capacity())) map(pos);
+            return (window.get((int)(pos - windowStart)) & 0xff);
+        }
+
+        private int read() throws IOException {
+            int b = peekByte();
+            if(b >= 0) ++pos;
+            return b;
+        }
+
+        private void readQuoted(int quote) throws IOException {
+            for(int b = read(); b != quote; b = read()) {
+                if(b < 0) throw new IOException(msgs.getString("msg.err.argfile_quote"));
+                if((quote == '"') && (b == '\\')) {
+                    b = read();
+                    if(b < 0) throw new IOException(msgs.getString("msg.err.argfile_quote"));
+                    b = switch(b) {/*@f0*/
+                        case 'n' -> '\n';
+                        case 't' -> '\t';
+                        case 'r' -> '\r';
+                        case 'f' -> '\f';
+                        default  -> b;
+                    };/*@f1*/
+                }
+                append(b);
+            }
+        }
+
+        private int skipSpaceAndComments() throws IOException {
+            int b = read();
+            while(true) {
+                if(b == '#') {
+                    do { b = read(); } while((b >= 0) && (b != '\n') && (b != '\r'));
+                }
+                else if((b < 0) || !isSpace(b)) {
+                    return b;
+                }
+                else {
+                    b = read();
+                }
+            }
+        }
+    }
+
+    private static boolean isSpace(int b) {
+        return ((b == ' ') || (b == '\t') || (b == '\n') || (b == '\r') || (b == '\f'));
+    }
+}
@@ -0,0 +1,184 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ArgTokenizer.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single pass, regex free classifier for command-line arguments. It accepts exactly what the old {@code RX_LONG} and {@code RX_SHORT} patterns accepted:
+ * <pre>
+ *     RX_LONG  = ^\s*--([^\s=-][^\s=]*)(?:\s*(=)(.+))?\s*$
+ *     RX_SHORT = ^\s*-([^\s-]\S*)\s*$
+ * </pre>
+ * but instead of creating matchers and substrings it records the offsets of the name and the value in the original argument. An instance is reused for every
+ * argument of a parse and is not thread safe.
+ */
+final class ArgTokenizer {
+
+    enum Kind {
+        /** {@code --} */
+        END_OF_SWITCHES,
+        /** {@code -} */
+        REDIRECT,
+        /** {@code --name} */
+        LONG,
+        /** {@code --name=value} */
+        LONG_VALUE,
+        /** {@code -abc} or {@code -a-bc} */
+        SHORT,
+        /** Anything else. */
+        OTHER
+    }
+
+    private CharSequence arg        = "";
+    private int          argStart   = 0;
+    private int          stripStart = 0;
+    private int          stripEnd   = 0;
+    private int          nameStart  = 0;
+    private int          nameEnd    = 0;
+    private int          valueStart = 0;
+    private int          valueEnd   = 0;
+
+    ArgTokenizer() { }
+
+    /**
+     * Classifies an argument that appears where a switch is expected. A leading {@code \-} is removed before looking for a long or short switch.
+     *
+     * @param arg The argument.
+     * @return The kind of argument.
+     */
+    @NotNull Kind classify(@NotNull CharSequence arg) {
+        int len = arg.length();
+
+        this.arg = arg;
+        strip(arg, len);
+
+        if(((stripEnd - stripStart) == 2) && (arg.charAt(stripStart) == '-') && (arg.charAt(stripStart + 1) == '-')) return Kind.END_OF_SWITCHES;
+        if(((stripEnd - stripStart) == 1) && (arg.charAt(stripStart) == '-')) return Kind.REDIRECT;
+
+        argStart = (isEscaped(arg) ? 1 : 0);
+        if(matchLong(arg, argStart, len)) return ((valueEnd > valueStart) ? Kind.LONG_VALUE : Kind.LONG);
+        if(matchShort(arg, argStart, len)) return Kind.SHORT;
+        return Kind.OTHER;
+    }
+
+    /**
+     * Returns {@code true} if the argument would be recognized as a long or short switch - without removing a leading {@code \-} first.
+     */
+    boolean isSwitch(@NotNull CharSequence arg) {
+        return (matchLong(arg, 0, arg.length()) || matchShort(arg, 0, arg.length()));
+    }
+
+    CharSequence arg()                                  { return arg; }
+
+    int nameEnd()                                       { return nameEnd; }
+
+    int nameStart()                                     { return nameStart; }
+
+    @NotNull String name()                              { return arg.subSequence(nameStart, nameEnd).toString(); }
+
+    /**
+     * Returns the argument with a leading {@code \-} removed.
+     */
+    @NotNull String other()                             { return ((argStart == 0) ? arg.toString() : arg.subSequence(argStart, arg.length()).toString()); }
+
+    /**
+     * Compares the argument, with leading and trailing white space removed as done by {@link String#strip()}, to the given string.
+     */
+    boolean strippedEquals(@NotNull String str)         { return regionEquals(str, arg, stripStart, stripEnd); }
+
+    @NotNull String value()                             { return arg.subSequence(valueStart, valueEnd).toString(); }
+
+    private boolean matchLong(@NotNull CharSequence cs, int i, int len) {
+        valueStart = valueEnd = 0;
+        i = skipSpaces(cs, i, len);
+
+        if(((i + 2) >= len) || (cs.charAt(i) != '-') || (cs.charAt(i + 1) != '-')) return false;
+
+        char ch = cs.charAt(i += 2);
+        if(isSpace(ch) || (ch == '=') || (ch == '-')) return false;
+
+        nameStart = i++;
+        while((i < len) && !isSpace(ch = cs.charAt(i)) && (ch != '=')) ++i;
+        nameEnd = i;
+        i       = skipSpaces(cs, i, len);
+
+        if(i == len) return true;
+        if(cs.charAt(i) != '=') return false;
+
+        // ".+" stops at the first line terminator and everything after that has to be white space.
+        int j = ++i;
+        while((j < len) && !isLineTerminator(cs.charAt(j))) ++j;
+        if((j == i) || (skipSpaces(cs, j, len) != len)) return false;
+
+        valueStart = i;
+        valueEnd   = j;
+        return true;
+    }
+
+    private boolean matchShort(@NotNull CharSequence cs, int i, int len) {
+        i = skipSpaces(cs, i, len);
+
+        if(((i + 1) >= len) || (cs.charAt(i) != '-')) return false;
+
+        char ch = cs.charAt(++i);
+        if(isSpace(ch) || (ch == '-')) return false;
+
+        nameStart = i++;
+        while((i < len) && !isSpace(cs.charAt(i))) ++i;
+        nameEnd = i;
+        return (skipSpaces(cs, i, len) == len);
+    }
+
+    private void strip(@NotNull CharSequence cs, int len) {
+        stripStart = 0;
+        stripEnd   = len;
+        while((stripStart < stripEnd) && Character.isWhitespace(cs.charAt(stripStart))) ++stripStart;
+        while((stripEnd > stripStart) && Character.isWhitespace(cs.charAt(stripEnd - 1))) --stripEnd;
+    }
+
+    static boolean isEscaped(@NotNull CharSequence cs) {
+        return ((cs.length() >= 2) && (cs.charAt(0) == '\\') && (cs.charAt(1) == '-'));
+    }
+
+    static boolean regionEquals(@NotNull String str, @NotNull CharSequence cs, int start, int end) {
+        if(str.length() != (end - start)) return false;
+        if(cs instanceof String s) return str.regionMatches(0, s, start, str.length());
+        for(int i = 0; i < str.length(); i++) if(str.charAt(i) != cs.charAt(start + i)) return false;
+        return true;
+    }
+
+    /**
+     * The characters matched by {@code \s} - which is narrower than {@link Character#isWhitespace(char)}.
+     */
+    private static boolean isSpace(char ch) {
+        return ((ch == ' ') || (ch == '\t') || (ch == '\n') || (ch == '\u000B') || (ch == '\f') || (ch == '\r'));
+    }
+
+    /**
+     * The characters that {@code .} does not match.
+     */
+    private static boolean isLineTerminator(char ch) {
+        return ((ch == '\n') || (ch == '\r') || (ch == '\u0085') || (ch == '\u2028') || (ch == '\u2029'));
+    }
+
+    private static int skipSpaces(@NotNull CharSequence cs, int i, int len) {
+        while((i < len) && isSpace(cs.charAt(i))) ++i;
+        return i;
+    }
+}
@@ -0,0 +1,205 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: BatchParser.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Parses a large number of command-lines, one per line, in parallel. The lines are parsed in chunks, each on a virtual thread of it's own, with the same
+ * {@link CompiledCmdProc}, so the annotated classes are scanned once, and the results are handed to the consumer in the same order as the lines. No more than a
+ * fixed number of lines are being parsed, or waiting to be handed over, at any time - reading the lines waits for the oldest chunk to be finished - so the
+ * memory used does not depend on the number of lines.
+ * <pre>
+ *     BatchParser&lt;Job&gt; parser = new BatchParser&lt;&gt;(CompiledCmdProc.forType(Job.class, false), Job.class);
+ *     long bad = parser.parse(Path.of("jobs.txt"), result -&gt; { if(!result.isOk()) report(result); });
+ * </pre>
+ * Each line is split into arguments with POSIX shell quoting rules, as done by {@link CompiledCmdProc#newLineParser(CharSequence)}. The parser must bind to a
+ * new instance of the type on every parse, as made by {@link CompiledCmdProc#forType(Class, boolean)}, since parses of static members would overwrite each
+ * other.
+ *
+ * @param <T> The type the command-lines are bound to.
+ */
+public final class BatchParser<T> {
+
+    private static final ResourceBundle msgs       = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    /**
+     * Parsing a line takes about as long as starting a virtual thread, so lines are handed out in chunks.
+     */
+    private static final int            CHUNK_SIZE = 128;
+
+    private final CompiledCmdProc proc;
+    private final Class<T>        type;
+    private final int             maxInFlight;
+
+    public BatchParser(@NotNull CompiledCmdProc proc, @NotNull Class<T> type) {
+        this(proc, type, (Runtime.getRuntime().availableProcessors() * 256));
+    }
+
+    /**
+     * @param proc        The parser. It must be made for the given type.
+     * @param type        The type.
+     * @param maxInFlight The most lines that are parsed, or wait to be handed to the consumer, at the same time. It is rounded up to a whole number of chunks.
+     */
+    public BatchParser(@NotNull CompiledCmdProc proc, @NotNull Class<T> type, int maxInFlight) {
+        if(proc.getInfo().getTargetType() != type) throw new IllegalArgumentException(msgs.getString("msg.err.batch_type").formatted(type.getName()));
+        this.proc        = proc;
+        this.type        = type;
+        this.maxInFlight = Math.max(1, (maxInFlight + CHUNK_SIZE - 1) / CHUNK_SIZE);
+    }
+
+    /**
+     * Parses every line of a UTF-8 text file. The file is read as the lines are parsed.
+     *
+     * @param file     The file.
+     * @param consumer Receives the result of every line in order, on the calling thread.
+     * @return The number of lines that had errors.
+     * @throws IOException If the file cannot be read.
+     */
+    public long parse(@NotNull Path file, @NotNull Consumer<? super Result<T>> consumer) throws IOException {
+        try(Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return parse(lines, consumer);
+        }
+        catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parses every command-line in a stream. The stream is read as the lines are parsed.
+     *
+     * @param lines    The command-lines.
+     * @param consumer Receives the result of every line in order, on the calling thread.
+     * @return The number of lines that had errors.
+     */
+    public long parse(@NotNull Stream<? extends CharSequence> lines, @NotNull Consumer<? super Result<T>> consumer) {
+        ArrayDeque<Future<Result<T>[]>>  inFlight = new ArrayDeque<>(maxInFlight);
+        Iterator<? extends CharSequence> it       = lines.iterator();
+        long                             lineNo   = 1;
+        long                             bad      = 0;
+
+        try(ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                while(it.hasNext()) {
+                    if(inFlight.size() == maxInFlight) bad += deliver(inFlight.poll(), consumer);
+
+                    CharSequence[] chunk = new CharSequence[CHUNK_SIZE];
+                    int            count = 0;
+                    while((count < CHUNK_SIZE) && it.hasNext()) chunk[count++] = it.next();
+
+                    long first = lineNo;
+                    int  size  = count;
+                    inFlight.add(executor.submit(() -> parseChunk(first, chunk, size)));
+                    lineNo += count;
+                }
+                while(!inFlight.isEmpty()) bad += deliver(inFlight.poll(), consumer);
+            }
+            finally {
+                // Only left over if the consumer threw something.
+                inFlight.forEach(f -> f.cancel(true));
+                executor.shutdownNow();
+            }
+        }
+        return bad;
+    }
+
+    /**
+     * Parses a single command-line.
+     *
+     * @param lineNo The line number given to the result.
+     * @param line   The command-line.
+     * @return The result.
+     */
+    public @NotNull Result<T> parseLine(long lineNo, @NotNull CharSequence line) {
+        CmdProc parser = proc.newLineParser(line).setExitOnError(false);
+        try {
+            parser.processCommandLine();
+            return new Result<>(lineNo, parser.getResult(type), List.of());
+        }
+        catch(CmdLnException e) {
+            return new Result<>(lineNo, null, e.getErrors());
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Result<T> @NotNull [] parseChunk(long first, CharSequence @NotNull [] chunk, int count) {
+        Result<T>[] results = new Result[count];
+        for(int i = 0; i < count; i++) results[i] = parseLine(first + i, chunk[i]);
+        return results;
+    }
+
+    private static <T> int deliver(@NotNull Future<Result<T>[]> future, @NotNull Consumer<? super Result<T>> consumer) {
+        int bad = 0;
+        for(Result<T> result : join(future)) {
+            consumer.accept(result);
+            if(!result.isOk()) ++bad;
+        }
+        return bad;
+    }
+
+    private static <T> @NotNull T join(@NotNull Future<T> future) {
+        try {
+            return future.get();
+        }
+        catch(ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException re) throw re;
+            if(e.getCause() instanceof Error err) throw err;
+            throw new IllegalStateException(e.getCause());
+        }
+        catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The outcome of parsing one line.
+     *
+     * @param lineNo The line number, starting at 1.
+     * @param value  The new instance the line was bound to or {@code null} if there were errors.
+     * @param errors The problems with the line.
+     * @param <T>    The type the line was bound to.
+     */
+    public record Result<T>(long lineNo, @Nullable T value, @NotNull List<CmdLnError> errors) {
+        public boolean isOk() {
+            return errors.isEmpty();
+        }
+
+        public @NotNull T get() {
+            if(!isOk()) throw new CmdLnException(errors);
+            return Objects.requireNonNull(value);
+        }
+    }
+}
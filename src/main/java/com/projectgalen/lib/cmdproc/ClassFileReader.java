@@ -0,0 +1,235 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ClassFileReader.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Reads just enough of a class file to find the fields and methods annotated with {@code @CmdFlag}, {@code @CmdParam} or {@code @CmdOther} and the values of
+ * those annotations. Used by the agent, see {@link InstrumentHook}, so that the members of a class can be bound by name without scanning it with reflection.
+ */
+final class ClassFileReader {
+
+    static final String ANNOTATIONS = "com/projectgalen/lib/cmdproc/annotations/";
+
+    private static final String CMD_FLAG  = "L" + ANNOTATIONS + "CmdFlag;";
+    private static final String CMD_PARAM = "L" + ANNOTATIONS + "CmdParam;";
+    private static final String CMD_OTHER = "L" + ANNOTATIONS + "CmdOther;";
+
+    private final ByteBuffer buffer;
+    private       Object[]   pool;
+    private       int[]      classes;
+
+    private ClassFileReader(byte @NotNull [] bytes) {
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Reads the class file.
+     *
+     * @param bytes The class file.
+     * @return The annotated members or {@code null} if the class doesn't have any.
+     * @throws RuntimeException If the class file is malformed.
+     */
+    static @Nullable IndexedClass read(byte @NotNull [] bytes) {
+        return new ClassFileReader(bytes).read();
+    }
+
+    /**
+     * A quick check, without parsing the class file, for whether it mentions any of the annotations at all.
+     */
+    static boolean mentionsAnnotations(byte @NotNull [] bytes) {
+        byte[] needle = ANNOTATIONS.getBytes(StandardCharsets.US_ASCII);
+        int    last   = (bytes.length - needle.length);
+
+        outer:
+        for(int i = 0; i <= last; i++) {
+            if(bytes[i] != needle[0]) continue;
+            for(int j = 1; j < needle.length; j++) if(bytes[i + j] != needle[j]) continue outer;
+            return true;
+        }
+        return false;
+    }
+
+    private @Nullable Object annotationValue(int tag) {
+        return switch(tag) {/*@f0*/
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's' -> pool[u2()];
+            case 'e'                                         -> { u2(); yield pool[u2()]; }
+            case 'c'                                         -> { u2(); yield null; }
+            case '@'                                         -> { annotation(); yield null; }
+            case '['                                         -> {
+                int      count  = u2();
+                Object[] values = new Object[count];
+                for(int i = 0; i < count; i++) values[i] = annotationValue(u1());
+                yield values;
+            }
+            default                                          -> throw new IllegalStateException("Bad element value tag: " + tag);
+        };/*@f1*/
+    }
+
+    private @NotNull Map<String, Object> annotation() {
+        Map<String, Object> values = new HashMap<>();
+        u2();
+        for(int i = 0, count = u2(); i < count; i++) {
+            String name  = (String)pool[u2()];
+            Object value = annotationValue(u1());
+            if(value != null) values.put(name, value);
+        }
+        return values;
+    }
+
+    private @Nullable IndexedMember member(boolean isField) {
+        int                 access    = u2();
+        String              name      = (String)pool[u2()];
+        String              desc      = (String)pool[u2()];
+        String              signature = null;
+        Map<String, Object> flag      = null;
+        Map<String, Object> param     = null;
+        boolean             other     = false;
+
+        for(int i = 0, count = u2(); i < count; i++) {
+            String attr = (String)pool[u2()];
+            int    len  = buffer.getInt();
+            int    end  = (buffer.position() + len);
+
+            if(attr.equals("Signature")) {
+                signature = (String)pool[u2()];
+            }
+            else if(attr.equals("RuntimeVisibleAnnotations")) {
+                for(int j = 0, n = u2(); j < n; j++) {
+                    String type = (String)pool[buffer.getShort(buffer.position()) & 0xffff];
+                    Map<String, Object> values = annotation();
+                    if(type.equals(CMD_FLAG)) flag = values;
+                    else if(type.equals(CMD_PARAM)) param = values;
+                    else if(type.equals(CMD_OTHER)) other = true;
+                }
+            }
+            buffer.position(end);
+        }
+
+        return (((flag == null) && (param == null) && !other) ? null : new IndexedMember(isField, access, name, desc, signature, flag, param, other));
+    }
+
+    private void readPool() {
+        int count = u2();
+        pool    = new Object[count];
+        classes = new int[count];
+
+        for(int i = 1; i < count; i++) {
+            int tag = u1();
+            switch(tag) {/*@f0*/
+                case 1                     -> pool[i] = utf8();
+                case 3                     -> pool[i] = buffer.getInt();
+                case 4                     -> pool[i] = buffer.getFloat();
+                case 5                     -> pool[i++] = buffer.getLong();
+                case 6                     -> pool[i++] = buffer.getDouble();
+                case 7                     -> classes[i] = u2();
+                case 8, 16, 19, 20         -> u2();
+                case 9, 10, 11, 12, 17, 18 -> buffer.getInt();
+                case 15                    -> { u1(); u2(); }
+                default                    -> throw new IllegalStateException("Bad constant pool tag: " + tag);
+            }/*@f1*/
+        }
+    }
+
+    private @Nullable IndexedClass read() {
+        if(buffer.getInt() != 0xCAFEBABE) throw new IllegalStateException("Not a class file.");
+        buffer.getInt(); // minor and major version
+        readPool();
+
+        buffer.getInt(); // access flags and this class
+        int superIndex = u2();
+        int interfaces = u2();
+        buffer.position(buffer.position() + (interfaces * 2));
+
+        List<IndexedMember> members = new ArrayList<>();
+        for(int k = 0; k < 2; k++) {
+            for(int i = 0, count = u2(); i < count; i++) {
+                IndexedMember m = member(k == 0);
+                if(m != null) members.add(m);
+            }
+        }
+
+        if(members.isEmpty()) return null;
+        return new IndexedClass(((superIndex != 0) && "java/lang/Record".equals(pool[classes[superIndex]])), List.copyOf(members));
+    }
+
+    private int u1() {
+        return (buffer.get() & 0xff);
+    }
+
+    private int u2() {
+        return (buffer.getShort() & 0xffff);
+    }
+
+    /**
+     * Constant pool strings are in modified UTF-8 which encodes NUL as two bytes and supplementary characters as surrogate pairs of three bytes each, so
+     * anything that isn't plain ASCII is decoded by {@link DataInputStream#readUTF()} which reads exactly that format, including the length.
+     */
+    private @NotNull String utf8() {
+        byte[] bytes = buffer.array();
+        int    start = buffer.position();
+        int    len   = u2();
+        int    pos   = buffer.position();
+        int    end   = (pos + len);
+
+        buffer.position(end);
+        for(int i = pos; i < end; i++) {
+            if(bytes[i] <= 0) {
+                try(DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, start, (end - start)))) {
+                    return in.readUTF();
+                }
+                catch(IOException e) {
+                    throw new IllegalStateException("Bad constant pool string.", e);
+                }
+            }
+        }
+        return new String(bytes, pos, len, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * The annotated members of a class.
+     *
+     * @param isRecord {@code true} if the class is a record.
+     * @param members  The annotated fields and methods.
+     */
+    record IndexedClass(boolean isRecord, @NotNull List<IndexedMember> members) { }
+
+    /**
+     * A field or method with at least one of the annotations.
+     *
+     * @param isField    {@code true} for a field, {@code false} for a method.
+     * @param access     The access flags.
+     * @param name       The name.
+     * @param descriptor The type descriptor.
+     * @param signature  The generic signature, if there is one.
+     * @param flag       The values of {@code @CmdFlag} or {@code null}.
+     * @param param      The values of {@code @CmdParam} or {@code null}.
+     * @param other      {@code true} if it has {@code @CmdOther}.
+     */
+    record IndexedMember(boolean isField, int access, @NotNull String name, @NotNull String descriptor, @Nullable String signature, @Nullable Map<String, Object> flag,
+                         @Nullable Map<String, Object> param, boolean other) { }
+}
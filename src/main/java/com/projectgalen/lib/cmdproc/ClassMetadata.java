@@ -0,0 +1,124 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ClassMetadata.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * The flags, parameters, and "others" declared by a single class - not including it's superclasses. Each class is scanned once per JVM, for static binding
+ * and for instance binding separately, and the result is kept in a {@link ClassValue} so that building a {@link CmdLnInfo} for classes that share a common
+ * base class only has to merge the fragments. Because the values are stored with the class itself they do not keep it's class loader from being unloaded.
+ */
+final class ClassMetadata {
+
+    private static final ResourceBundle msgs       = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final String         TXT_METHOD = msgs.getString("txt.method");
+    private static final String         TXT_FIELD  = msgs.getString("txt.field");
+
+    private static final ClassValue<ClassMetadata> STATIC_MEMBERS   = new ClassValue<>() {
+        protected @Override ClassMetadata computeValue(@NotNull Class<?> type) {
+            return scan(type, false);
+        }
+    };
+    private static final ClassValue<ClassMetadata> INSTANCE_MEMBERS = new ClassValue<>() {
+        protected @Override ClassMetadata computeValue(@NotNull Class<?> type) {
+            return scan(type, true);
+        }
+    };
+
+    private final List<FPData>           cmdLnData;
+    private final List<OData>            cmdLnOther;
+    private final List<Constraints.Rule> rules;
+
+    private ClassMetadata(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull List<Constraints.Rule> rules) {
+        this.cmdLnData  = List.copyOf(cmdLnData);
+        this.cmdLnOther = List.copyOf(cmdLnOther);
+        this.rules      = List.copyOf(rules);
+    }
+
+    /**
+     * Adds this class' flags, parameters, "others", and constraint rules to the given lists.
+     */
+    void addTo(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull List<Constraints.Rule> rules) {
+        cmdLnData.addAll(this.cmdLnData);
+        cmdLnOther.addAll(this.cmdLnOther);
+        rules.addAll(this.rules);
+    }
+
+    /**
+     * Returns the metadata for the given class.
+     *
+     * @param cls      The class.
+     * @param instance {@code true} if the members will be bound to an instance of the class.
+     * @return The metadata.
+     */
+    static @NotNull ClassMetadata of(@NotNull Class<?> cls, boolean instance) {
+        return (instance ? INSTANCE_MEMBERS : STATIC_MEMBERS).get(cls);
+    }
+
+    private static Method @NotNull [] getMethods(@NotNull Class<?> cls, boolean instance) {
+        Method[] methods = cls.getDeclaredMethods();
+        // Annotations on record components are copied to their accessor methods. Only the component fields are used.
+        if(instance && cls.isRecord()) return Arrays.stream(methods).filter(m -> Modifier.isStatic(m.getModifiers())).toArray(Method[]::new);
+        return methods;
+    }
+
+    /**
+     * Finds the annotated members of the class with reflection.
+     */
+    static void reflect(@NotNull Class<?> cls, boolean instance, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        Field[]  fields  = cls.getDeclaredFields();
+        Method[] methods = getMethods(cls, instance);
+
+        // First look for flags and parameters...
+        for(AccessibleObject f : fields) FPData.process(cmdLnData, f, TXT_FIELD, instance);
+        for(AccessibleObject m : methods) FPData.process(cmdLnData, m, TXT_METHOD, instance);
+
+        // Now look for "others"...
+        for(Field f : fields) OData.processOther(cmdLnOther, f, f.getType(), f.getGenericType(), TXT_FIELD, instance);
+        for(Method m : methods) OData.processOther(cmdLnOther, m, instance);
+    }
+
+    private static @NotNull ClassMetadata scan(@NotNull Class<?> cls, boolean instance) {
+        List<FPData> cmdLnData  = new ArrayList<>();
+        List<OData>  cmdLnOther = new ArrayList<>();
+        CmdLnBinder  binder     = CmdLnBinder.find(cls);
+
+        if(binder != null) {
+            // The annotation processor already did the work at compile time...
+            binder.bind(cmdLnData, cmdLnOther);
+        }
+        else if(!(AnnotationIndex.bind(cls, instance, cmdLnData, cmdLnOther) || MetadataSnapshot.load(cls, instance, cmdLnData, cmdLnOther))) {
+            // Not found by the agent or in a snapshot so fall back to reflection...
+            reflect(cls, instance, cmdLnData, cmdLnOther);
+            MetadataSnapshot.cache(cls, cmdLnData, cmdLnOther);
+        }
+
+        // The rules are class annotations, which are cheap to read however the members were found.
+        return new ClassMetadata(cmdLnData, cmdLnOther, Constraints.Rule.of(cls));
+    }
+}
@@ -0,0 +1,56 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdLnBinder.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Implemented by the classes that the annotation processor (see {@link com.projectgalen.lib.cmdproc.processor.CmdProcProcessor}) generates for every class
+ * that declares {@link com.projectgalen.lib.cmdproc.annotations.CmdFlag}, {@link com.projectgalen.lib.cmdproc.annotations.CmdParam} or
+ * {@link com.projectgalen.lib.cmdproc.annotations.CmdOther} members. When one is present {@link CmdLnInfo} uses it instead of scanning the class with
+ * reflection.
+ */
+public interface CmdLnBinder {
+    String SUFFIX = "$$CmdLnBinder";
+
+    /**
+     * Adds the flags, parameters and others declared by the bound class - but not it's superclasses.
+     *
+     * @param cmdLnData  The list of flags and parameters.
+     * @param cmdLnOther The list of others.
+     */
+    void bind(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther);
+
+    static @Nullable CmdLnBinder find(@NotNull Class<?> cls) {
+        ClassLoader cl = cls.getClassLoader();
+        if(cl == null) return null;
+
+        try {
+            return (CmdLnBinder)Class.forName(cls.getName() + SUFFIX, true, cl).getConstructor().newInstance();
+        }
+        catch(ClassNotFoundException e) {
+            return null;
+        }
+        catch(ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
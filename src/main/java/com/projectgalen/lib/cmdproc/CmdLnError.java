@@ -0,0 +1,59 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdLnError.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * A problem with the command-line found by a parse that does not exit on errors.
+ *
+ * @param kind    What went wrong.
+ * @param option  The switch the problem is with, such as {@code --name} or {@code -n}, or {@code null} if it isn't about a single switch.
+ * @param message The message that would have been printed.
+ * @see CmdProc#setExitOnError(boolean)
+ */
+public record CmdLnError(@NotNull Kind kind, @Nullable String option, @NotNull String message) implements Serializable {
+
+    public enum Kind {
+        /** A switch that is not one of the flags or parameters. */
+        UNKNOWN_OPTION,
+        /** An abbreviated long switch that could be more than one flag or parameter. */
+        AMBIGUOUS_OPTION,
+        /** A parameter at the end of the command-line or followed by another switch. */
+        MISSING_ARGUMENT,
+        /** A value that is not one of the allowed values or cannot be converted. */
+        INVALID_VALUE,
+        /** A required flag or parameter that was not given. */
+        MISSING_REQUIRED,
+        /** More than one of the flags or parameters of a {@link com.projectgalen.lib.cmdproc.annotations.CmdConflicts} group. */
+        CONFLICTING_OPTIONS,
+        /** A flag or parameter without one of the others it {@link com.projectgalen.lib.cmdproc.annotations.CmdRequires requires}. */
+        MISSING_DEPENDENCY,
+        /** The {@code -} switch when redirection of STDIN is not allowed. */
+        NOT_ALLOWED,
+        /** An argument file or config file that cannot be read. */
+        UNREADABLE,
+        /** No subcommand after the global options of {@link Subcommands}. */
+        MISSING_SUBCOMMAND,
+        /** A subcommand that was not added to {@link Subcommands}. */
+        UNKNOWN_SUBCOMMAND
+    }
+}
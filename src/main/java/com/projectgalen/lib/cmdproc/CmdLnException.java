@@ -0,0 +1,49 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdLnException.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Thrown by {@link CmdProc#processCommandLine()}, when it does not exit on errors, with every problem found on the command-line. It has no stack trace since it
+ * reports bad input rather than a bug, so rejecting a command-line costs little more than parsing it.
+ */
+public final class CmdLnException extends RuntimeException {
+
+    @Serial private static final long serialVersionUID = 1L;
+
+    private final ArrayList<CmdLnError> errors;
+
+    public CmdLnException(@NotNull List<CmdLnError> errors) {
+        super(errors.stream().map(CmdLnError::message).collect(Collectors.joining(System.lineSeparator())), null, false, false);
+        this.errors = new ArrayList<>(errors);
+    }
+
+    /**
+     * Returns the problems in the order they were found.
+     */
+    public @NotNull List<CmdLnError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+}
@@ -18,47 +18,176 @@ package com.projectgalen.lib.cmdproc;
 // ================================================================================================================================
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.AccessibleObject;
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ResourceBundle;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
-import static com.projectgalen.lib.utils.stream.Streams.intersection;
-import static java.util.stream.Stream.concat;
+public final class CmdLnInfo {
 
-public record CmdLnInfo(List<FPData> cmdLnData, List<OData> cmdLnOther) {
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
 
-    private static final ResourceBundle msgs       = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
-    private static final String         TXT_METHOD = msgs.getString("txt.method");
-    private static final String         TXT_FIELD  = msgs.getString("txt.field");
+    private final List<FPData>         cmdLnData;
+    private final List<OData>          cmdLnOther;
+    private final OptionIndex          index;
+    private final Constraints          constraints;
+    private final InstanceBinding      instanceBinding;
+    private final boolean              collectsOthers;
+    private final boolean              streamsOthers;
+    private final Map<HelpKey, String> helpText = new ConcurrentHashMap<>();
 
-    public @NotNull Stream<FPData> streamData() {
-        return cmdLnData.stream();
+    public CmdLnInfo(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        this(cmdLnData, cmdLnOther, List.of(), null);
     }
 
-    public @NotNull Stream<FPData> streamData(String name, boolean isLong, boolean isFlag) {
-        return (isLong ? streamLongNames(isFlag) : streamShortNames(isFlag)).filter(d -> name.equals(isLong ? d.getLongName() : d.getShortNameStr()));
+    private CmdLnInfo(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull List<Constraints.Rule> rules, @Nullable InstanceBinding instanceBinding) {
+        this.cmdLnData       = List.copyOf(cmdLnData);
+        this.cmdLnOther      = List.copyOf(cmdLnOther);
+        this.index           = index(this.cmdLnData);
+        this.constraints     = Constraints.compile(this.cmdLnData, index, rules);
+        this.instanceBinding = instanceBinding;
+        this.collectsOthers  = this.cmdLnOther.stream().anyMatch(od -> od.delivery.collects());
+        this.streamsOthers   = this.cmdLnOther.stream().anyMatch(od -> od.delivery.isLazy());
+    }
+
+    public @NotNull List<FPData> cmdLnData() {
+        return cmdLnData;
+    }
+
+    public @NotNull List<OData> cmdLnOther() {
+        return cmdLnOther;
+    }
+
+    /**
+     * Returns the ways the given word can be completed to a switch, for shell completion scripts. A word that starts with {@code --} is completed to the
+     * long names that start with the rest of it, a word of the form {@code --name=prefix} is completed to the allowed values of the parameter, and an empty
+     * word or {@code -} is completed to every switch.
+     *
+     * @param word The word being completed.
+     * @return The completions in sorted order.
+     * @see Completion
+     */
+    public @NotNull List<String> complete(@NotNull String word) {
+        List<String> list = new ArrayList<>();
+
+        if(word.startsWith("--")) {
+            int eq = word.indexOf('=');
+
+            if(eq < 0) {
+                String prefix = word.substring(2);
+                for(String name : index.startingWith(prefix)) list.add("--" + name);
+                if(msgs.getString("help.long").startsWith(prefix)) list.add("--" + msgs.getString("help.long"));
+            }
+            else {
+                int ordinal = longOrdinal(word, 2, eq);
+                if((ordinal >= 0) && !option(ordinal).isFlag()) {
+                    String prefix = word.substring(eq + 1);
+                    for(String value : option(ordinal).getAllowedValues()) if(value.startsWith(prefix)) list.add(word.substring(0, eq + 1) + value);
+                }
+            }
+        }
+        else if(word.isEmpty() || word.equals("-")) {
+            streamShortNames().forEach(fp -> list.add("-" + fp.getShortNameStr()));
+            list.add("-" + msgs.getString("help.short"));
+            for(String name : index.startingWith("")) list.add("--" + name);
+            list.add("--" + msgs.getString("help.long"));
+        }
+
+        list.sort(null);
+        return list;
+    }
+
+    public @Override boolean equals(Object o) {
+        return ((this == o) || ((o instanceof CmdLnInfo other) && cmdLnData.equals(other.cmdLnData) && cmdLnOther.equals(other.cmdLnOther)));
     }
 
     public @NotNull Stream<FPData> findLong(@NotNull String name, boolean isFlag) {
-        return streamData().filter(fp -> ((fp.isFlag() == isFlag) && fp.hasLongName() && name.equals(fp.getLongName())));
+        return Stream.ofNullable(getLong(name)).filter(fp -> (fp.isFlag() == isFlag));
     }
 
     public @NotNull Stream<FPData> findLong(@NotNull String name) {
-        return streamData().filter(fp -> (fp.hasLongName() && name.equals(fp.getLongName())));
+        return Stream.ofNullable(getLong(name));
     }
 
     public @NotNull Stream<FPData> findShort(int ch) {
-        return streamData().filter(fp -> (fp.hasShortName() && (fp.getShortName() == ch)));
+        return Stream.ofNullable(getShort(ch));
     }
 
     public @NotNull Stream<FPData> findShort(int ch, boolean isFlag) {
-        return streamData().filter(fp -> ((fp.isFlag() == isFlag) && fp.hasShortName() && (fp.getShortName() == ch)));
+        return Stream.ofNullable(getShort(ch)).filter(fp -> (fp.isFlag() == isFlag));
+    }
+
+    /**
+     * Returns the flag or parameter with the given long name.
+     *
+     * @param name The long name.
+     * @return The flag or parameter or {@code null} if there isn't one.
+     */
+    public @Nullable FPData getLong(@NotNull String name) {
+        int i = index.findLong(name);
+        return ((i < 0) ? null : cmdLnData.get(i));
+    }
+
+    /**
+     * Returns the flag or parameter with the given short name.
+     *
+     * @param ch The short name.
+     * @return The flag or parameter or {@code null} if there isn't one.
+     */
+    public @Nullable FPData getShort(int ch) {
+        int i = index.findShort(ch);
+        return ((i < 0) ? null : cmdLnData.get(i));
+    }
+
+    /**
+     * Returns the help page for the default locale wrapped to the width of the terminal.
+     *
+     * @return The help page.
+     * @see #getHelpText(Locale, int)
+     */
+    public @NotNull String getHelpText() {
+        return getHelpText(Locale.getDefault(), HelpRenderer.terminalWidth());
+    }
+
+    /**
+     * Returns the help page. It is rendered the first time it is asked for and then kept for the given locale and width.
+     *
+     * @param locale The locale of the headings and labels.
+     * @param width  The width to wrap the text at.
+     * @return The help page.
+     */
+    public @NotNull String getHelpText(@NotNull Locale locale, int width) {
+        return helpText.computeIfAbsent(new HelpKey(locale, width), k -> HelpRenderer.render(this, k.locale(), k.width()));
+    }
+
+    /**
+     * Returns the type that each parse creates an instance of or {@code null} if the values are bound to static members.
+     *
+     * @see #forType(Class)
+     */
+    public @Nullable Class<?> getTargetType() {
+        return ((instanceBinding == null) ? null : instanceBinding.getType());
+    }
+
+    public @Override int hashCode() {
+        return Objects.hash(cmdLnData, cmdLnOther);
+    }
+
+    /**
+     * Returns the ordinal of the given flag or parameter - it's position in {@link #cmdLnData()} - or -1 if it does not belong to this {@link CmdLnInfo}.
+     */
+    public int ordinalOf(@NotNull FPData fp) {
+        for(int i = 0; i < cmdLnData.size(); i++) if(cmdLnData.get(i) == fp) return i;
+        return -1;
+    }
+
+    public @NotNull Stream<FPData> streamData() {
+        return cmdLnData.stream();
+    }
+
+    public @NotNull Stream<FPData> streamData(String name, boolean isLong, boolean isFlag) {
+        return (isLong ? findLong(name, isFlag) : streamShortNames(isFlag).filter(d -> name.equals(d.getShortNameStr())));
     }
 
     public @NotNull Stream<FPData> streamData(boolean isFlag) {
@@ -81,39 +210,124 @@ public record CmdLnInfo(List<FPData> cmdLnData, List<OData> cmdLnOther) {
         return streamData(isFlag).filter(FPData::hasShortName);
     }
 
-    private @NotNull Stream<String> getLongNameConflicts() {
-        return intersection(streamLongNames(true).map(FPData::getLongName), streamLongNames(false).map(FPData::getLongName));
+    /**
+     * Returns up to three long names that are close to the given one, closest first, for "did you mean" hints.
+     *
+     * @param name The long name that wasn't found.
+     * @return The long names.
+     */
+    public @NotNull List<String> suggest(@NotNull String name) {
+        return index.similarTo(name);
+    }
+
+    public @Override String toString() {
+        return "CmdLnInfo[cmdLnData=%s, cmdLnOther=%s]".formatted(cmdLnData, cmdLnOther);
+    }
+
+    /**
+     * Returns {@code true} if any of the "others" are collected into an array or list.
+     */
+    boolean collectsOthers() {
+        return collectsOthers;
+    }
+
+    @NotNull Constraints constraints() {
+        return constraints;
+    }
+
+    @Nullable Object finishTarget(@Nullable Object target) {
+        return ((instanceBinding == null) ? null : instanceBinding.finish(Objects.requireNonNull(target)));
     }
 
-    private @NotNull Stream<String> getShortNameConflicts() {
-        return intersection(streamShortNames(true).map(FPData::getShortNameStr), streamShortNames(false).map(FPData::getShortNameStr));
+    /**
+     * Returns the ordinal of the flag or parameter whose long name, or the unique abbreviation of it, is the given region of a character sequence. Returns -1
+     * if there isn't one or {@link OptionIndex#AMBIGUOUS} if the abbreviation could be more than one.
+     */
+    int longOrdinal(@NotNull CharSequence cs, int start, int end) {
+        int ordinal = index.findLong(cs, start, end);
+        return ((ordinal < 0) ? index.findPrefix(cs, start, end) : ordinal);
     }
 
-    private @NotNull CmdLnInfo validate() {
-        String tmp = msgs.getString("msg.err.switch_and_value");
-        String msg = concat(getLongNameConflicts().map("--%s"::formatted), getShortNameConflicts().map("-%s"::formatted)).map(tmp::formatted).collect(Collectors.joining("\n"));
-        if(!msg.isEmpty()) throw new IllegalArgumentException(msg);
-        return this;
+    /**
+     * Returns the long names that start with the given abbreviation.
+     */
+    @NotNull List<String> longNamesStartingWith(@NotNull String prefix) {
+        return index.startingWith(prefix);
+    }
+
+    @NotNull FPData option(int ordinal) {
+        return cmdLnData.get(ordinal);
+    }
+
+    @Nullable Object newTarget() {
+        return ((instanceBinding == null) ? null : instanceBinding.newTarget());
+    }
+
+    int shortOrdinal(int ch) {
+        return index.findShort(ch);
+    }
+
+    /**
+     * Returns {@code true} if any of the "others" is an {@link java.util.Iterator} or {@link Stream} - in which case parsing stops at the first argument that
+     * is not a flag or parameter.
+     */
+    boolean streamsOthers() {
+        return streamsOthers;
     }
 
     public static @NotNull CmdLnInfo findAnnotatedMembers(Class<?> @NotNull [] classes) {
-        List<FPData> data   = new ArrayList<>();
-        List<OData>  others = new ArrayList<>();
-        for(Class<?> cls : classes) findAnnotatedMembers(data, others, cls);
-        return new CmdLnInfo(data, others).validate();
+        Telemetry.ScanEvent    event   = new Telemetry.ScanEvent();
+        long                   start   = Telemetry.start();
+        List<FPData>           data    = new ArrayList<>();
+        List<OData>            others  = new ArrayList<>();
+        List<Constraints.Rule> rules   = new ArrayList<>();
+        Set<Class<?>>          visited = new HashSet<>();
+
+        event.begin();
+        for(Class<?> cls : classes) findAnnotatedMembers(data, others, rules, visited, cls, false);
+        Telemetry.scanned(start, event, visited.size(), (data.size() + others.size()));
+        return new CmdLnInfo(data, others, rules, null);
     }
 
-    private static void findAnnotatedMembers(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull Class<?> cls) {
-        while(cls != null) {
-            // First look for flags and parameters...
-            for(AccessibleObject f : cls.getDeclaredFields()) FPData.process(cmdLnData, f, TXT_FIELD);
-            for(AccessibleObject m : cls.getDeclaredMethods()) FPData.process(cmdLnData, m, TXT_METHOD);
+    /**
+     * Builds a {@link CmdLnInfo} that binds to a new instance of the given type on every parse instead of to static members. The type can be an ordinary class
+     * with a no-argument constructor, in which case the annotated instance fields and methods are set, or a record whose annotated components are passed to
+     * it's canonical constructor. Static members of the type are still bound as usual.
+     *
+     * @param type The type.
+     * @return The {@link CmdLnInfo}.
+     */
+    public static @NotNull CmdLnInfo forType(@NotNull Class<?> type) {
+        Telemetry.ScanEvent    event   = new Telemetry.ScanEvent();
+        long                   start   = Telemetry.start();
+        List<FPData>           data    = new ArrayList<>();
+        List<OData>            others  = new ArrayList<>();
+        List<Constraints.Rule> rules   = new ArrayList<>();
+        Set<Class<?>>          visited = new HashSet<>();
+
+        event.begin();
+        findAnnotatedMembers(data, others, rules, visited, type, true);
+        Telemetry.scanned(start, event, visited.size(), (data.size() + others.size()));
+        return new CmdLnInfo(data, others, rules, InstanceBinding.of(type));
+    }
 
-            // Now look for "others"...
-            for(Field f : cls.getDeclaredFields()) OData.processOther(cmdLnOther, f, f.getType(), f.getGenericType(), TXT_FIELD);
-            for(Method m : cls.getDeclaredMethods()) OData.processOther(cmdLnOther, m);
+    private static @NotNull OptionIndex index(@NotNull List<FPData> cmdLnData) {
+        Telemetry.ValidateEvent event = new Telemetry.ValidateEvent();
+        long                    start = Telemetry.start();
 
+        event.begin();
+        OptionIndex index = new OptionIndex(cmdLnData);
+        Telemetry.validated(start, event, cmdLnData.size());
+        return index;
+    }
+
+    private static void findAnnotatedMembers(@NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull List<Constraints.Rule> rules, @NotNull Set<Class<?>> visited, @NotNull Class<?> cls, boolean instance) {
+        // A class that shows up more than once, or as a superclass of another one, only contributes it's members once.
+        while((cls != null) && visited.add(cls)) {
+            ClassMetadata.of(cls, instance).addTo(cmdLnData, cmdLnOther, rules);
             cls = cls.getSuperclass();
         }
     }
+
+    private record HelpKey(@NotNull Locale locale, int width) { }
 }
@@ -18,164 +18,588 @@ package com.projectgalen.lib.cmdproc;
 // ================================================================================================================================
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.ResourceBundle;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.nio.ByteBuffer;
+import java.util.*;
 
 @SuppressWarnings({ "UnusedReturnValue", "unused" })
 public final class CmdProc {
 
     private static final ResourceBundle msgs         = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
-    private static final Pattern        RX_LONG      = Pattern.compile("^\\s*--([^\\s=-][^\\s=]*)(?:\\s*(=)(.+))?\\s*$");
-    private static final Pattern        RX_SHORT     = Pattern.compile("^\\s*-([^\\s-]\\S*)\\s*$");
     private static final String         HELP_LONG    = "--%s".formatted(msgs.getString("help.long"));
     private static final String         HELP_SHORT   = "-%s".formatted(msgs.getString("help.short"));
     private static final FPData[]       EMPTY_FPDATA = new FPData[0];
 
-    private final List<String> others        = new ArrayList<>();
-    private final String[]     args;
-    private final CmdLnInfo    info;
-    private final boolean      allowStdInRedirection;
-    private       boolean      redirectStdIn = false;
-    private       boolean      endOfSwitches = false;
-    private       int          idx           = 0;
+    private final List<String>     others;
+    private final ArgTokenizer     tokenizer     = new ArgTokenizer();
+    private final ArgSource        source;
+    private final CmdLnInfo        info;
+    private final boolean          allowStdInRedirection;
+    private final boolean          stopAtOther;
+    private final String           moreHelp;
+    private final long[]           setOptions;
+    private final Object           target;
+    private       OptionSources    sources       = OptionSources.NONE;
+    private       Object           result        = null;
+    private       List<CmdLnError> errors        = null;
+    private       ValueBuffer[]    buffers       = null;
+    private       boolean          exitOnError   = true;
+    private       boolean          helpRequested = false;
+    private       boolean          redirectStdIn = false;
+    private       boolean          endOfSwitches = false;
+    private       boolean          unreadable    = false;
+    private       boolean          marksFPData   = false;
+    private       String           firstOther    = null;
+    private       int              argCount      = 0;
 
     public CmdProc(String @NotNull [] args, boolean allowStdInRedirection, Class<?> @NotNull ... classes) {
-        this.args                  = args;
+        this(args, allowStdInRedirection, false, classes);
+    }
+
+    /**
+     * @param args                  The command-line arguments.
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param classes               The annotated classes.
+     * @see ArgSource
+     */
+    public CmdProc(String @NotNull [] args, boolean allowStdInRedirection, boolean expandArgFiles, Class<?> @NotNull ... classes) {
+        this(args, allowStdInRedirection, expandArgFiles, CmdLnInfo.findAnnotatedMembers(classes));
+        // The single use parser still keeps FPData.notSet() up to date for existing callers.
+        this.marksFPData = true;
+    }
+
+    /**
+     * Creates a parser that uses an existing {@link CmdLnInfo}. All of the state for the parse is held by the {@link CmdProc} so any number of them can share the
+     * same {@link CmdLnInfo} from different threads.
+     *
+     * @see CompiledCmdProc
+     */
+    public CmdProc(String @NotNull [] args, boolean allowStdInRedirection, @NotNull CmdLnInfo info) {
+        this(args, allowStdInRedirection, false, info);
+    }
+
+    public CmdProc(String @NotNull [] args, boolean allowStdInRedirection, boolean expandArgFiles, @NotNull CmdLnInfo info) {
+        this(new ArgSource(args, expandArgFiles), allowStdInRedirection, info, false, null);
+    }
+
+    /**
+     * Creates a parser for a whole command-line held in a single string, which is split into arguments with POSIX shell quoting rules. Switches are matched
+     * straight from the command-line and only the values that are bound are turned into strings.
+     *
+     * @param commandLine           The command-line.
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param info                  The flags, parameters and "others".
+     * @see LineTokenizer
+     */
+    public CmdProc(@NotNull CharSequence commandLine, boolean allowStdInRedirection, boolean expandArgFiles, @NotNull CmdLnInfo info) {
+        this(new ArgSource(commandLine, expandArgFiles), allowStdInRedirection, info, false, null);
+    }
+
+    /**
+     * Creates a parser for a whole command-line held in the remaining bytes of a buffer as UTF-8. The buffer's position is not changed and it must not be
+     * changed until the parse is finished. ASCII command-lines are read straight from the buffer without being decoded.
+     *
+     * @see #CmdProc(CharSequence, boolean, boolean, CmdLnInfo)
+     */
+    public CmdProc(@NotNull ByteBuffer commandLine, boolean allowStdInRedirection, boolean expandArgFiles, @NotNull CmdLnInfo info) {
+        this(LineTokenizer.decode(commandLine), allowStdInRedirection, expandArgFiles, info);
+    }
+
+    /**
+     * Creates a parser that reads from an existing {@link ArgSource} so that the arguments of a subcommand can be parsed where the global options left off.
+     *
+     * @param source                The arguments.
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param info                  The flags and parameters.
+     * @param stopAtOther           {@code true} if parsing stops at the first argument that is not a flag or parameter. It can be had from
+     *                              {@link #takeFirstOther()} and the rest of the arguments are left in the source.
+     * @param moreHelp              Text printed after the help page or {@code null}.
+     * @see Subcommands
+     */
+    CmdProc(@NotNull ArgSource source, boolean allowStdInRedirection, @NotNull CmdLnInfo info, boolean stopAtOther, @Nullable String moreHelp) {
+        this.source                = source;
         this.allowStdInRedirection = allowStdInRedirection;
-        this.info                  = CmdLnInfo.findAnnotatedMembers(classes);
+        this.stopAtOther           = stopAtOther;
+        this.moreHelp              = moreHelp;
+        this.info                  = info;
+        this.setOptions            = new long[(info.cmdLnData().size() + 63) >>> 6];
+        this.target                = info.newTarget();
+        this.others                = (info.collectsOthers() ? new ArrayList<>() : null);
     }
 
     /**
      * Prints the help page to STDERR.
      */
     public void displayHelp() {
-        // TODO:
+        System.err.print(info.getHelpText());
+        if(moreHelp != null) System.err.print(moreHelp);
+    }
+
+    /**
+     * Returns the problems found by the last parse when it does not exit on errors.
+     *
+     * @see #setExitOnError(boolean)
+     */
+    public @NotNull List<CmdLnError> getErrors() {
+        return ((errors == null) ? List.of() : Collections.unmodifiableList(errors));
+    }
+
+    public @NotNull CmdLnInfo getInfo() {
+        return info;
+    }
+
+    /**
+     * Returns the object the values were bound to when the {@link CmdLnInfo} was built with {@link CmdLnInfo#forType(Class)}. It is only available after
+     * {@link #processCommandLine()} has returned.
+     *
+     * @return The object or {@code null} if the values were bound to static members.
+     */
+    public @Nullable Object getResult() {
+        return result;
+    }
+
+    public <T> @NotNull T getResult(@NotNull Class<T> type) {
+        return type.cast(Objects.requireNonNull(result));
+    }
+
+    /**
+     * Returns STDIN for fast reading of lines and records if the {@code -} switch was given. A command run by a
+     * {@link com.projectgalen.lib.cmdproc.server.CommandServer} reads the client's STDIN with
+     * {@link com.projectgalen.lib.cmdproc.server.CommandContext#stdinChannel()} instead.
+     *
+     * @return STDIN or {@code null} if it was not redirected.
+     * @see StdIn#system()
+     */
+    public @Nullable StdIn getStdIn() {
+        return (redirectStdIn ? StdIn.system() : null);
+    }
+
+    /**
+     * Returns {@code true} if the help switch was given to a parse that does not exit on errors.
+     */
+    public boolean isHelpRequested() {
+        return helpRequested;
+    }
+
+    /**
+     * Returns {@code true} if the given flag or parameter was set by this parse. Unlike {@link FPData#notSet()} this is not affected by other parses that share
+     * the same {@link CmdLnInfo}.
+     */
+    public boolean isSet(@NotNull FPData fp) {
+        int i = info.ordinalOf(fp);
+        return ((i >= 0) && ((setOptions[i >>> 6] & (1L << i)) != 0));
     }
 
+    /**
+     * Parses the command-line.
+     *
+     * @return {@code true} if STDIN should be redirected.
+     * @throws CmdLnException If there were problems with the command-line and the parser does not exit on errors.
+     */
     public boolean processCommandLine() {
-        while(idx < args.length) {
-            String rawArg = args[idx++];
-            if(endOfSwitches) others.add(rawArg);
-            else handler(rawArg.strip(), rawArg);
+        Telemetry.ParseEvent event = new Telemetry.ParseEvent();
+        long                 start = Telemetry.start();
+
+        event.begin();
+        while((firstOther == null) && hasNextArg()) {
+            CharSequence rawArg = nextRawArg();
+            if(endOfSwitches) addOther(rawArg.toString());
+            else handler(rawArg);
+        }
+
+        if(info.streamsOthers()) {
+            if(info.cmdLnOther().size() == 1) {
+                info.cmdLnOther().get(0).setIterator(target, remaining());
+            }
+            else {
+                // The arguments can only be read once so when they go to more than one member they have to be kept...
+                List<String> rest = new ArrayList<>();
+                remaining().forEachRemaining(v -> {
+                    rest.add(v);
+                    deliverOther(v);
+                });
+                for(OData od : info.cmdLnOther()) if(od.delivery.isLazy()) od.setIterator(target, rest.iterator());
+            }
         }
-        info.cmdLnOther().forEach(od -> od.setValues(others));
+        if(others != null) for(OData od : info.cmdLnOther()) if(od.delivery.collects()) od.setValues(target, others);
+        if(!sources.isEmpty()) applySources();
+        if(buffers != null) storeValues();
+        if(!(helpRequested || unreadable)) info.constraints().check(setOptions, this::handleUserError);
+        if(marksFPData) markSet();
+
+        if(errors == null) finishTarget();
+        Telemetry.parsed(start, event, argCount, setCount());
+        if(errors != null) throw new CmdLnException(errors);
         return redirectStdIn;
     }
 
-    private void handleFlagsAndParams(@NotNull String rawArg) {
-        handleLong(RX_LONG.matcher(rawArg), rawArg);
+    /**
+     * Sets what happens when there is a problem with the command-line. By default the problem and the help page are printed to STDERR and the process exits,
+     * as does the help switch. Otherwise every problem is collected and {@link #processCommandLine()} throws a {@link CmdLnException} with all of them at the
+     * end, and the help switch is only noted, so the parser can be used in a long running process.
+     *
+     * @param exitOnError {@code false} to collect the problems instead of exiting.
+     * @return This parser.
+     */
+    public @NotNull CmdProc setExitOnError(boolean exitOnError) {
+        this.exitOnError = exitOnError;
+        return this;
+    }
+
+    /**
+     * Sets where the values of flags and parameters that are not given on the command-line come from. Must be called before
+     * {@link #processCommandLine()}.
+     *
+     * @param sources The sources.
+     * @return This parser.
+     */
+    public @NotNull CmdProc setSources(@NotNull OptionSources sources) {
+        this.sources = sources;
+        return this;
     }
 
     /**
-     * Prints the help page to STDERR and then terminates the process.
-     * <B>THERE IS NO RETURNING FROM THIS METHOD. THE PROCESS WILL TERMINATE AFTER CALLING THIS METHOD.</B>
+     * Returns the argument that parsing stopped at, if any, and forgets it.
      */
-    private void handleHelpSwitch() {
-        displayHelp();
-        System.exit(1);
+    @Nullable String takeFirstOther() {
+        String arg = firstOther;
+        firstOther = null;
+        return arg;
     }
 
-    private void handleLong(@NotNull Matcher matcher, @NotNull String rawArg) {
-        if(matcher.matches()) {
-            if("=".equals(matcher.group(2))) handleLongFP(matcher.group(1), matcher.group(3));
-            else handleLongFP(matcher.group(1));
+    @NotNull ArgSource source() {
+        return source;
+    }
+
+    private void addOther(@NotNull String value) {
+        if(stopAtOther || info.streamsOthers()) firstOther = value;
+        else deliverOther(value);
+    }
+
+    private void applySources() {
+        for(int i = 0; i < info.cmdLnData().size(); i++) {
+            if((setOptions[i >>> 6] & (1L << i)) != 0) continue;
+            try {
+                String value = sources.lookup(info.option(i));
+                if(value != null) setValue(i, value);
+            }
+            catch(IllegalArgumentException e) {
+                handleUserError(CmdLnError.Kind.UNREADABLE, null, e.getMessage());
+            }
         }
-        else {
-            handleShort(RX_SHORT.matcher(rawArg), rawArg);
+    }
+
+    private void deliverOther(@NotNull String value) {
+        if(others != null) others.add(value);
+        for(OData od : info.cmdLnOther()) if(od.delivery == OData.Delivery.CONSUMER) od.addValue(target, value);
+    }
+
+    /**
+     * Takes the value of a short parameter from the next argument unless it is a switch, in which case it is left to be parsed as a switch.
+     *
+     * @return The value or {@code null} if it is missing.
+     */
+    private @Nullable String getArgument(@NotNull FPData fp) {
+        CharSequence next = peekArg();
+        if(unreadable) return null;
+        if((next == null) || tokenizer.isSwitch(next)) {
+            handleUserError(CmdLnError.Kind.MISSING_ARGUMENT, fp.getSwitchName(), msgs.getString("msg.err.missing_arg").formatted(fp.getShortNameStr()));
+            return null;
         }
+        String value = nextArg();
+        return (ArgTokenizer.isEscaped(value) ? value.substring(1) : value);
     }
 
-    private @NotNull String handleLongArg(@NotNull FPData fp) {
-        if(fp.isFlag()) return fp.setValue(Boolean.TRUE.toString());
-        if(idx < args.length) return fp.setValue(args[idx++]);
-        return handleUserError(msgs.getString("msg.err.missing_arg").formatted(fp.getLongName()));
+    /**
+     * Creates the result. A record whose canonical constructor rejects the values is a problem with the command-line like any other invalid value.
+     */
+    private void finishTarget() {
+        try {
+            result = info.finishTarget(target);
+        }
+        catch(IllegalArgumentException e) {
+            handleUserError(CmdLnError.Kind.INVALID_VALUE, null, e.getMessage());
+        }
     }
 
-    private void handleLongFP(@NotNull String name) {
-        if(info.findLong(name).map(this::handleLongArg).findAny().isEmpty()) handleUserError(msgs.getString("msg.err.unknown_long").formatted(name));
+    /**
+     * Prints the help page to STDERR and then terminates the process unless the parser does not exit on errors.
+     * <B>UNLESS {@link #setExitOnError(boolean)} WAS GIVEN {@code false} THERE IS NO RETURNING FROM THIS METHOD.</B>
+     */
+    private void handleHelpSwitch() {
+        if(exitOnError) {
+            displayHelp();
+            System.exit(1);
+        }
+        helpRequested = true;
     }
 
-    private void handleLongFP(@NotNull String name, @NotNull String value) {
-        if(info.findLong(name, false).map(fp -> fp.setValue(value)).findAny().isEmpty()) handleUserError(msgs.getString("msg.err.unknown_long").formatted(name));
+    private void handleLongArg(int ordinal) {
+        FPData fp = info.option(ordinal);
+        if(fp.isFlag()) setValue(ordinal, Boolean.TRUE.toString());
+        else if(hasNextArg()) setValue(ordinal, nextArg());
+        else if(!unreadable) handleUserError(CmdLnError.Kind.MISSING_ARGUMENT, fp.getSwitchName(), msgs.getString("msg.err.missing_arg").formatted(fp.getLongName()));
     }
 
-    private void handleRedirectionSwitch() {
-        if(allowStdInRedirection) redirectStdIn = true;
-        else handleUserError(msgs.getString("msg.err.cannon_redirect_stdin"));
+    /**
+     * Reading the next argument fails only if an argument file, or a quoted argument, cannot be read. The problem is reported once and the parse ends there -
+     * there are no more arguments and the problems that would follow from the missing ones, such as a missing argument or a missing required parameter, are
+     * not reported.
+     */
+    private boolean hasNextArg() {
+        return (peekArg() != null);
     }
 
-    private void handleShort(@NotNull Matcher matcher, @NotNull String rawArg) {
-        if(matcher.matches()) {
-            int[] cp = matcher.group(1).codePoints().toArray();
-            int   i  = 0;
+    private @Nullable CharSequence peekArg() {
+        if(unreadable) return null;
+        try {
+            return source.peek();
+        }
+        catch(IllegalArgumentException e) {
+            unreadable = true;
+            handleUserError(CmdLnError.Kind.UNREADABLE, null, e.getMessage());
+            return null;
+        }
+    }
 
-            while(i < cp.length) {
-                int     ch  = cp[i++];
-                boolean neg = ((i < cp.length) && (cp[i] == '-'));
+    private @NotNull String nextArg() {
+        return nextRawArg().toString();
+    }
 
-                if(neg) ++i;
-                handleShortFP(ch, neg);
-            }
+    /**
+     * Only called once {@link #peekArg()} has read the argument so it cannot fail.
+     */
+    private @NotNull CharSequence nextRawArg() {
+        CharSequence arg = source.nextRaw();
+        ++argCount;
+        return arg;
+    }
+
+    private void handleLongFP() {
+        int ordinal = longOrdinal();
+        if(ordinal >= 0) handleLongArg(ordinal);
+    }
+
+    private void handleLongFPValue() {
+        int ordinal = longOrdinal();
+        if(ordinal < 0) return;
+        if(info.option(ordinal).isFlag()) handleUserError(CmdLnError.Kind.UNKNOWN_OPTION, "--" + tokenizer.name(), msgs.getString("msg.err.unknown_long").formatted(tokenizer.name()));
+        else setValue(ordinal, tokenizer.value());
+    }
+
+    /**
+     * Returns the ordinal of the long switch in the current argument, which may be abbreviated, or reports it as ambiguous or unknown and returns -1.
+     */
+    private int longOrdinal() {
+        int ordinal = info.longOrdinal(tokenizer.arg(), tokenizer.nameStart(), tokenizer.nameEnd());
+        if(ordinal >= 0) return ordinal;
+
+        String name = tokenizer.name();
+        if(ordinal == OptionIndex.AMBIGUOUS) {
+            handleUserError(CmdLnError.Kind.AMBIGUOUS_OPTION, "--" + name, msgs.getString("msg.err.ambiguous_long").formatted(name, switches(info.longNamesStartingWith(name))));
         }
         else {
-            others.add(rawArg);
+            List<String> hints = info.suggest(name);
+            String       msg   = (hints.isEmpty() ? msgs.getString("msg.err.unknown_long").formatted(name) : msgs.getString("msg.err.unknown_long_hint").formatted(name, switches(hints)));
+            handleUserError(CmdLnError.Kind.UNKNOWN_OPTION, "--" + name, msg);
         }
+        return -1;
     }
 
-    private @NotNull String handleShortArg(@NotNull FPData fp, boolean neg) {
-        if(fp.isFlag()) return fp.setValue((neg ? Boolean.FALSE : Boolean.TRUE).toString());
-        if(idx < args.length) {
-            String value = getArgument(fp.getShortNameStr());
-            return fp.setValue(value);
+    private void handleRedirectionSwitch() {
+        if(allowStdInRedirection) redirectStdIn = true;
+        else handleUserError(CmdLnError.Kind.NOT_ALLOWED, "-", msgs.getString("msg.err.cannon_redirect_stdin"));
+    }
+
+    private void handleShort() {
+        CharSequence arg = tokenizer.arg();
+        int          i   = tokenizer.nameStart();
+        int          end = tokenizer.nameEnd();
+
+        while(i < end) {
+            int ch = Character.codePointAt(arg, i);
+            i += Character.charCount(ch);
+
+            boolean neg = ((i < end) && (arg.charAt(i) == '-'));
+            if(neg) ++i;
+            handleShortFP(ch, neg);
         }
-        return handleUserError(msgs.getString("msg.err.missing_arg").formatted(fp.getShortNameStr()));
     }
 
-    private @NotNull String getArgument(String name) {
-        String value = args[idx];
-        if(RX_LONG.matcher(value).matches() || RX_SHORT.matcher(value).matches()) handleUserError(msgs.getString("msg.err.missing_arg").formatted(name));
-        if(value.startsWith("\\-")) value = value.substring(1);
-        ++idx;
-        return value;
+    private void handleShortArg(int ordinal, boolean neg) {
+        FPData fp = info.option(ordinal);
+        if(fp.isFlag()) {
+            setValue(ordinal, (neg ? Boolean.FALSE : Boolean.TRUE).toString());
+        }
+        else {
+            String value = getArgument(fp);
+            if(value != null) setValue(ordinal, value);
+        }
     }
 
     private void handleShortFP(int ch, boolean neg) {
-        if(info.findShort(ch).map(fp -> handleShortArg(fp, neg)).findAny().isEmpty()) handleUserError(msgs.getString("msg.err.unknown_short").formatted(Character.toString(ch)));
+        int ordinal = info.shortOrdinal(ch);
+        if(ordinal < 0) handleUserError(CmdLnError.Kind.UNKNOWN_OPTION, "-" + Character.toString(ch), msgs.getString("msg.err.unknown_short").formatted(Character.toString(ch)));
+        else handleShortArg(ordinal, neg);
     }
 
     /**
-     * Print a message to stderr and terminate the process.
-     * <B>THERE IS NO RETURNING FROM THIS METHOD. THE PROCESS WILL TERMINATE AFTER CALLING THIS METHOD.</B>
+     * Print a message to stderr and terminate the process or, if the parser does not exit on errors, add the problem to the ones found so far.
+     * <B>UNLESS {@link #setExitOnError(boolean)} WAS GIVEN {@code false} THERE IS NO RETURNING FROM THIS METHOD.</B>
      *
-     * @param msg The message to display.
-     * @return The message - but in reality there is no returning from this method.
+     * @param kind   What went wrong.
+     * @param option The switch the problem is with or {@code null}.
+     * @param msg    The message to display.
+     * @return The message.
      */
-    private String handleUserError(String msg) {
-        System.err.println(msg);
-        handleHelpSwitch();
+    private String handleUserError(@NotNull CmdLnError.Kind kind, @Nullable String option, @NotNull String msg) {
+        if(exitOnError) {
+            System.err.println(msg);
+            handleHelpSwitch();
+        }
+        if(errors == null) errors = new ArrayList<>();
+        errors.add(new CmdLnError(kind, option, msg));
         return msg;
     }
 
-    private void handler(String arg, String rawArg) {
-        if("--".equals(arg)) {
+    /**
+     * Marks every flag and parameter this parse set for {@link FPData#notSet()}, which only the single use parsers keep up to date.
+     */
+    private void markSet() {
+        for(int w = 0; w < setOptions.length; w++) {
+            for(long bits = setOptions[w]; bits != 0; bits &= (bits - 1)) info.option((w << 6) + Long.numberOfTrailingZeros(bits)).markSet();
+        }
+    }
+
+    /**
+     * Returns an iterator over the first argument that was not a flag or parameter followed by all of the arguments after it. The arguments are not parsed any
+     * further. Only the first call returns the arguments - they are read from the {@link ArgSource} as the iterator is used.
+     */
+    private @NotNull Iterator<String> remaining() {
+        if(firstOther == null) return Collections.emptyIterator();
+
+        return new Iterator<>() {
+            private String first = firstOther;
+
+            public @Override boolean hasNext() {
+                return ((first != null) || source.hasNext());
+            }
+
+            public @Override String next() {
+                if(first == null) return source.next();
+                String arg = first;
+                first = firstOther = null;
+                return arg;
+            }
+        };
+    }
+
+    private int setCount() {
+        int count = 0;
+        for(long bits : setOptions) count += Long.bitCount(bits);
+        return count;
+    }
+
+    private @NotNull String setValue(int ordinal, @NotNull String value) {
+        FPData fp = info.option(ordinal);
+        if(fp.isRepeatable()) return addValue(ordinal, value);
+
+        Telemetry.ConversionEvent event = new Telemetry.ConversionEvent();
+        long                      start = Telemetry.start();
+
+        if(!isAllowed(fp, value)) return notAllowed(fp, value);
+
+        event.begin();
+        try {
+            fp.setValue(target, value);
+            setOptions[ordinal >>> 6] |= (1L << ordinal);
+            Telemetry.converted(start, event, fp, false);
+            return value;
+        }
+        catch(IllegalArgumentException e) {
+            Telemetry.converted(start, event, fp, true);
+            return handleUserError(CmdLnError.Kind.INVALID_VALUE, fp.getSwitchName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Adds a value of a repeatable parameter, or an occurrence of a counted flag, to the buffer that collects them for this parse. The buffers are stored in
+     * their members once the whole command-line has been read.
+     */
+    private @NotNull String addValue(int ordinal, @NotNull String value) {
+        Telemetry.ConversionEvent event = new Telemetry.ConversionEvent();
+        long                      start = Telemetry.start();
+        FPData                    fp    = info.option(ordinal);
+
+        if(buffers == null) buffers = new ValueBuffer[info.cmdLnData().size()];
+        ValueBuffer buffer = buffers[ordinal];
+        if(buffer == null) buffer = buffers[ordinal] = fp.newBuffer();
+
+        event.begin();
+        try {
+            for(String piece : (fp.isFlag() ? List.of(value) : fp.split(value))) {
+                if(!isAllowed(fp, piece)) return notAllowed(fp, piece);
+                fp.addValue(buffer, piece);
+            }
+            setOptions[ordinal >>> 6] |= (1L << ordinal);
+            Telemetry.converted(start, event, fp, false);
+            return value;
+        }
+        catch(IllegalArgumentException e) {
+            Telemetry.converted(start, event, fp, true);
+            return handleUserError(CmdLnError.Kind.INVALID_VALUE, fp.getSwitchName(), e.getMessage());
+        }
+    }
+
+    private boolean isAllowed(@NotNull FPData fp, @NotNull String value) {
+        return (fp.isFlag() || (fp.allowedValues.length == 0) || Arrays.asList(fp.allowedValues).contains(value));
+    }
+
+    private @NotNull String notAllowed(@NotNull FPData fp, @NotNull String value) {
+        String allowed = String.join(", ", fp.allowedValues);
+        return handleUserError(CmdLnError.Kind.INVALID_VALUE, fp.getSwitchName(), msgs.getString("msg.err.not_allowed").formatted(value, fp.getSwitchName(), allowed));
+    }
+
+    private void storeValues() {
+        for(int i = 0; i < buffers.length; i++) if(buffers[i] != null) info.option(i).storeValues(target, buffers[i]);
+    }
+
+    private void handler(@NotNull CharSequence rawArg) {
+        ArgTokenizer.Kind kind = tokenizer.classify(rawArg);
+
+        if(kind == ArgTokenizer.Kind.END_OF_SWITCHES) {
             endOfSwitches = true;
         }
-        else if("-".equals(arg)) {
+        else if(kind == ArgTokenizer.Kind.REDIRECT) {
             handleRedirectionSwitch();
         }
-        else if(HELP_LONG.equals(arg) || HELP_SHORT.equals(arg)) {
+        else if(tokenizer.strippedEquals(HELP_LONG) || tokenizer.strippedEquals(HELP_SHORT)) {
             handleHelpSwitch();
         }
         else {
-            handleFlagsAndParams(rawArg.startsWith("\\-") ? rawArg.substring(1) : rawArg);
+            switch(kind) {/*@f0*/
+                case LONG       -> handleLongFP();
+                case LONG_VALUE -> handleLongFPValue();
+                case SHORT      -> handleShort();
+                default         -> addOther(tokenizer.other());
+            }/*@f1*/
         }
     }
 
     public static boolean processCommandLine(String @NotNull [] args, boolean allowStdInRedirection, Class<?> @NotNull ... classes) {
         return new CmdProc(args, allowStdInRedirection, classes).processCommandLine();
     }
+
+    public static boolean processCommandLine(String @NotNull [] args, boolean allowStdInRedirection, boolean expandArgFiles, Class<?> @NotNull ... classes) {
+        return new CmdProc(args, allowStdInRedirection, expandArgFiles, classes).processCommandLine();
+    }
+
+    private static @NotNull String switches(@NotNull List<String> names) {
+        StringJoiner j = new StringJoiner(", ");
+        for(String name : names) j.add("--" + name);
+        return j.toString();
+    }
 }
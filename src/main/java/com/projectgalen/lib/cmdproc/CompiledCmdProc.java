@@ -0,0 +1,195 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CompiledCmdProc.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A command-line parser that is built once from the annotated classes and then used for any number of parses. The annotated classes are scanned, validated and
+ * indexed only when the {@link CompiledCmdProc} is created. It holds no per-parse state, so it can be shared freely between threads; each call to
+ * {@link #newParser(String...)} creates a cheap {@link CmdProc} that holds the state of a single parse.
+ * <p>
+ * Values bound to static members are shared by every parse. To keep the parses completely independent use {@link #forType(Class, boolean)} so that each one
+ * binds to it's own instance or record.
+ */
+public final class CompiledCmdProc {
+
+    private final CmdLnInfo     info;
+    private final boolean       allowStdInRedirection;
+    private final boolean       expandArgFiles;
+    private final OptionSources sources;
+    private final boolean       exitOnError;
+
+    public CompiledCmdProc(boolean allowStdInRedirection, Class<?> @NotNull ... classes) {
+        this(CmdLnInfo.findAnnotatedMembers(classes), allowStdInRedirection);
+    }
+
+    public CompiledCmdProc(@NotNull CmdLnInfo info, boolean allowStdInRedirection) {
+        this(info, allowStdInRedirection, false);
+    }
+
+    /**
+     * @param info                  The flags, parameters and "others".
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     */
+    public CompiledCmdProc(@NotNull CmdLnInfo info, boolean allowStdInRedirection, boolean expandArgFiles) {
+        this(info, allowStdInRedirection, expandArgFiles, OptionSources.NONE);
+    }
+
+    /**
+     * @param info                  The flags, parameters and "others".
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param sources               Where the values that are not given on the command-line come from. Config files are read once and shared by every parse.
+     */
+    public CompiledCmdProc(@NotNull CmdLnInfo info, boolean allowStdInRedirection, boolean expandArgFiles, @NotNull OptionSources sources) {
+        this(info, allowStdInRedirection, expandArgFiles, sources, true);
+    }
+
+    /**
+     * @param info                  The flags, parameters and "others".
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param sources               Where the values that are not given on the command-line come from.
+     * @param exitOnError           {@code false} if problems with the command-line are thrown as a {@link CmdLnException} instead of ending the process.
+     * @see CmdProc#setExitOnError(boolean)
+     */
+    public CompiledCmdProc(@NotNull CmdLnInfo info, boolean allowStdInRedirection, boolean expandArgFiles, @NotNull OptionSources sources, boolean exitOnError) {
+        this.info                  = info;
+        this.allowStdInRedirection = allowStdInRedirection;
+        this.expandArgFiles        = expandArgFiles;
+        this.sources               = sources;
+        this.exitOnError           = exitOnError;
+    }
+
+    public @NotNull CmdLnInfo getInfo() {
+        return info;
+    }
+
+    public @NotNull OptionSources getSources() {
+        return sources;
+    }
+
+    public boolean isAllowStdInRedirection() {
+        return allowStdInRedirection;
+    }
+
+    public boolean isExitOnError() {
+        return exitOnError;
+    }
+
+    public boolean isExpandArgFiles() {
+        return expandArgFiles;
+    }
+
+    /**
+     * Creates the context for a single parse of the given arguments.
+     *
+     * @param args The command-line arguments.
+     * @return The parser.
+     */
+    public @NotNull CmdProc newParser(String @NotNull ... args) {
+        return new CmdProc(args, allowStdInRedirection, expandArgFiles, info).setSources(sources).setExitOnError(exitOnError);
+    }
+
+    /**
+     * Creates the context for a single parse of a whole command-line held in a single string.
+     *
+     * @param commandLine The command-line.
+     * @return The parser.
+     * @see CmdProc#CmdProc(CharSequence, boolean, boolean, CmdLnInfo)
+     */
+    public @NotNull CmdProc newLineParser(@NotNull CharSequence commandLine) {
+        return new CmdProc(commandLine, allowStdInRedirection, expandArgFiles, info).setSources(sources).setExitOnError(exitOnError);
+    }
+
+    /**
+     * Creates the context for a single parse of a whole command-line held in the remaining bytes of a buffer as UTF-8.
+     *
+     * @param commandLine The command-line.
+     * @return The parser.
+     * @see CmdProc#CmdProc(ByteBuffer, boolean, boolean, CmdLnInfo)
+     */
+    public @NotNull CmdProc newLineParser(@NotNull ByteBuffer commandLine) {
+        return new CmdProc(commandLine, allowStdInRedirection, expandArgFiles, info).setSources(sources).setExitOnError(exitOnError);
+    }
+
+    /**
+     * Parses the given arguments into a new instance of the type given to {@link #forType(Class, boolean)}.
+     *
+     * @param type The type.
+     * @param args The command-line arguments.
+     * @param <T>  The type.
+     * @return The new instance.
+     */
+    public <T> @NotNull T parse(@NotNull Class<T> type, String @NotNull ... args) {
+        CmdProc proc = newParser(args);
+        proc.processCommandLine();
+        return proc.getResult(type);
+    }
+
+    /**
+     * Parses a whole command-line held in a single string into a new instance of the type given to {@link #forType(Class, boolean)}.
+     *
+     * @param type        The type.
+     * @param commandLine The command-line.
+     * @param <T>         The type.
+     * @return The new instance.
+     */
+    public <T> @NotNull T parseLine(@NotNull Class<T> type, @NotNull CharSequence commandLine) {
+        CmdProc proc = newLineParser(commandLine);
+        proc.processCommandLine();
+        return proc.getResult(type);
+    }
+
+    /**
+     * Parses a whole command-line held in the remaining bytes of a buffer as UTF-8 into a new instance of the type given to {@link #forType(Class, boolean)}.
+     *
+     * @param type        The type.
+     * @param commandLine The command-line.
+     * @param <T>         The type.
+     * @return The new instance.
+     */
+    public <T> @NotNull T parseLine(@NotNull Class<T> type, @NotNull ByteBuffer commandLine) {
+        CmdProc proc = newLineParser(commandLine);
+        proc.processCommandLine();
+        return proc.getResult(type);
+    }
+
+    /**
+     * Parses the given arguments.
+     *
+     * @param args The command-line arguments.
+     * @return {@code true} if STDIN should be redirected.
+     */
+    public boolean processCommandLine(String @NotNull ... args) {
+        return newParser(args).processCommandLine();
+    }
+
+    /**
+     * Creates a parser that binds to a new instance of the given type on every parse.
+     *
+     * @see CmdLnInfo#forType(Class)
+     */
+    public static @NotNull CompiledCmdProc forType(@NotNull Class<?> type, boolean allowStdInRedirection) {
+        return new CompiledCmdProc(CmdLnInfo.forType(type), allowStdInRedirection);
+    }
+}
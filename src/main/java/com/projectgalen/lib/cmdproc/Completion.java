@@ -0,0 +1,69 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Completion.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * The entry point for shell completion scripts:
+ * <pre>
+ *     java -cp app.jar com.projectgalen.lib.cmdproc.Completion com.example.Main -- "${COMP_WORDS[COMP_CWORD]}"
+ * </pre>
+ * prints the completions of the word, one per line, as returned by {@link CmdLnInfo#complete(String)}. The lookup itself is a binary search of the sorted long
+ * names, so almost all of the time is spent starting the JVM and scanning the classes. A {@link MetadataSnapshot} of the classes keeps the scan short.
+ */
+public final class Completion {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private Completion() { }
+
+    public static void main(String... args) {
+        int sep = Arrays.asList(args).indexOf("--");
+
+        if((sep < 1) || (sep < (args.length - 2))) {
+            System.err.println(msgs.getString("msg.usage.completion"));
+            System.exit(1);
+        }
+
+        try {
+            Class<?>[] classes = new Class<?>[sep];
+            for(int i = 0; i < sep; i++) classes[i] = Class.forName(args[i], false, Completion.class.getClassLoader());
+            for(String word : complete(classes, ((sep + 1) < args.length) ? args[sep + 1] : "")) System.out.println(word);
+        }
+        catch(Exception e) {
+            e.printStackTrace(System.err);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Returns the completions of the given word for the flags and parameters of the given classes.
+     *
+     * @param classes The classes.
+     * @param word    The word being completed.
+     * @return The completions in sorted order.
+     */
+    public static @NotNull List<String> complete(Class<?> @NotNull [] classes, @NotNull String word) {
+        return CmdLnInfo.findAnnotatedMembers(classes).complete(word);
+    }
+}
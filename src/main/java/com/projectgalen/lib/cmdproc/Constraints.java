@@ -0,0 +1,234 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Constraints.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdConflicts;
+import com.projectgalen.lib.cmdproc.annotations.CmdRequires;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * The required flags and parameters and the {@link CmdConflicts} and {@link CmdRequires} rules of a {@link CmdLnInfo}, compiled into bit masks over the
+ * ordinals of the options. A parse keeps the options it set in a bit set of the same shape so checking all of the rules takes a few word operations per
+ * rule no matter how many options there are. The messages are only built when a rule is broken.
+ */
+final class Constraints {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private final List<FPData> cmdLnData;
+    private final long[]       required;
+    private final long[][]     exclusive;
+    private final int[]        dependents;
+    private final long[][]     dependencies;
+    /**
+     * Every option that appears in an exclusive group or has dependencies. A parse that set none of them can only break the required rule.
+     */
+    private final long[]       involved;
+
+    private Constraints(@NotNull List<FPData> cmdLnData, long @NotNull [] required, long @NotNull [] @NotNull [] exclusive, int @NotNull [] dependents, long @NotNull [] @NotNull [] dependencies) {
+        this.cmdLnData    = cmdLnData;
+        this.required     = required;
+        this.exclusive    = exclusive;
+        this.dependents   = dependents;
+        this.dependencies = dependencies;
+        this.involved     = new long[required.length];
+
+        for(long[] group : exclusive) for(int w = 0; w < involved.length; w++) involved[w] |= group[w];
+        for(int ordinal : dependents) involved[ordinal >>> 6] |= (1L << ordinal);
+    }
+
+    /**
+     * Checks the options set by a parse and reports every rule that was broken.
+     *
+     * @param set      The ordinals of the options that were set.
+     * @param reporter Receives the problems.
+     */
+    void check(long @NotNull [] set, @NotNull Reporter reporter) {
+        if(isSatisfied(set)) return;
+
+        for(int w = 0; w < required.length; w++) {
+            for(long missing = (required[w] & ~set[w]); missing != 0; missing &= (missing - 1)) {
+                String name = option((w << 6) + Long.numberOfTrailingZeros(missing));
+                reporter.report(CmdLnError.Kind.MISSING_REQUIRED, name, msgs.getString("msg.err.missing_required").formatted(name));
+            }
+        }
+        for(long[] group : exclusive) {
+            if(count(set, group) > 1) {
+                List<String> names = options(set, group, false);
+                reporter.report(CmdLnError.Kind.CONFLICTING_OPTIONS, names.get(0), msgs.getString("msg.err.conflicting").formatted(String.join(", ", names)));
+            }
+        }
+        for(int i = 0; i < dependents.length; i++) {
+            if(isSet(set, dependents[i]) && !covers(set, dependencies[i])) {
+                String name = option(dependents[i]);
+                reporter.report(CmdLnError.Kind.MISSING_DEPENDENCY, name, msgs.getString("msg.err.missing_dependency").formatted(name, String.join(", ", options(set, dependencies[i], true))));
+            }
+        }
+    }
+
+    /**
+     * Returns the switches of the options that cannot be given together with the option with the given ordinal.
+     */
+    @NotNull List<String> conflictsWith(int ordinal) {
+        long[] others = new long[required.length];
+        for(long[] group : exclusive) if(isSet(group, ordinal)) for(int w = 0; w < others.length; w++) others[w] |= group[w];
+        others[ordinal >>> 6] &= ~(1L << ordinal);
+        return options(others, others, false);
+    }
+
+    /**
+     * Returns {@code true} if the options that were set break none of the rules.
+     *
+     * @param set The ordinals of the options that were set.
+     */
+    boolean isSatisfied(long @NotNull [] set) {
+        boolean touched = false;
+
+        for(int w = 0; w < required.length; w++) {
+            if((required[w] & ~set[w]) != 0) return false;
+            touched |= ((involved[w] & set[w]) != 0);
+        }
+        if(!touched) return true;
+
+        for(long[] group : exclusive) if(count(set, group) > 1) return false;
+        for(int i = 0; i < dependents.length; i++) if(isSet(set, dependents[i]) && !covers(set, dependencies[i])) return false;
+        return true;
+    }
+
+    /**
+     * Returns the switches of the options that have to be given together with the option with the given ordinal.
+     */
+    @NotNull List<String> requiredBy(int ordinal) {
+        long[] needed = new long[required.length];
+        for(int i = 0; i < dependents.length; i++) if(dependents[i] == ordinal) for(int w = 0; w < needed.length; w++) needed[w] |= dependencies[i][w];
+        return options(needed, needed, false);
+    }
+
+    private @NotNull String option(int ordinal) {
+        return cmdLnData.get(ordinal).getSwitchName();
+    }
+
+    /**
+     * Returns the switches of the options in the mask that are set - or not set - in the given bit set.
+     */
+    private @NotNull List<String> options(long @NotNull [] set, long @NotNull [] mask, boolean notSet) {
+        List<String> names = new ArrayList<>();
+        for(int w = 0; w < mask.length; w++) {
+            for(long bits = (mask[w] & (notSet ? ~set[w] : set[w])); bits != 0; bits &= (bits - 1)) names.add(option((w << 6) + Long.numberOfTrailingZeros(bits)));
+        }
+        return names;
+    }
+
+    /**
+     * Compiles the rules.
+     *
+     * @param cmdLnData The flags and parameters in ordinal order.
+     * @param index     Finds the ordinals of the switches named by the rules.
+     * @param rules     The {@link CmdConflicts} and {@link CmdRequires} annotations of the classes.
+     * @return The compiled rules.
+     * @throws IllegalArgumentException If a rule names a switch that isn't one of the flags or parameters.
+     */
+    static @NotNull Constraints compile(@NotNull List<FPData> cmdLnData, @NotNull OptionIndex index, @NotNull List<Rule> rules) {
+        int           words        = ((cmdLnData.size() + 63) >>> 6);
+        long[]        required     = new long[words];
+        List<long[]>  exclusive    = new ArrayList<>();
+        List<Integer> dependents   = new ArrayList<>();
+        List<long[]>  dependencies = new ArrayList<>();
+
+        for(int i = 0; i < cmdLnData.size(); i++) if(cmdLnData.get(i).isRequired()) required[i >>> 6] |= (1L << i);
+
+        for(Rule rule : rules) {
+            long[] mask = new long[words];
+            for(String name : rule.names()) {
+                int ordinal = ordinal(index, name, rule);
+                mask[ordinal >>> 6] |= (1L << ordinal);
+            }
+            if(rule.option() == null) {
+                exclusive.add(mask);
+            }
+            else {
+                dependents.add(ordinal(index, rule.option(), rule));
+                dependencies.add(mask);
+            }
+        }
+
+        return new Constraints(cmdLnData,
+                               required,
+                               exclusive.toArray(long[][]::new),
+                               dependents.stream().mapToInt(Integer::intValue).toArray(),
+                               dependencies.toArray(long[][]::new));
+    }
+
+    private static int count(long @NotNull [] set, long @NotNull [] mask) {
+        int count = 0;
+        for(int w = 0; w < mask.length; w++) count += Long.bitCount(set[w] & mask[w]);
+        return count;
+    }
+
+    private static boolean covers(long @NotNull [] set, long @NotNull [] mask) {
+        for(int w = 0; w < mask.length; w++) if((mask[w] & ~set[w]) != 0) return false;
+        return true;
+    }
+
+    private static boolean isSet(long @NotNull [] set, int ordinal) {
+        return ((set[ordinal >>> 6] & (1L << ordinal)) != 0);
+    }
+
+    private static int ordinal(@NotNull OptionIndex index, @NotNull String name, @NotNull Rule rule) {
+        int ordinal;
+
+        if(name.startsWith("--")) ordinal = index.findLong(name.substring(2));
+        else if(name.startsWith("-") && (name.codePointCount(1, name.length()) == 1)) ordinal = index.findShort(name.codePointAt(1));
+        else ordinal = index.findLong(name);
+
+        if(ordinal < 0) throw new IllegalArgumentException(msgs.getString("msg.err.constraint_option").formatted(rule.origin(), name));
+        return ordinal;
+    }
+
+    /**
+     * Receives the rules that were broken.
+     */
+    @FunctionalInterface
+    interface Reporter {
+        void report(@NotNull CmdLnError.Kind kind, @NotNull String option, @NotNull String message);
+    }
+
+    /**
+     * A single {@link CmdConflicts} or {@link CmdRequires} rule before the switches it names are looked up.
+     *
+     * @param option The option that has dependencies or {@code null} if the names are an exclusive group.
+     * @param names  The switches.
+     * @param origin Where the rule was declared, for the error messages.
+     */
+    record Rule(@Nullable String option, String @NotNull [] names, @NotNull String origin) {
+        /**
+         * Returns the rules declared on the given class - but not it's superclasses.
+         */
+        static @NotNull List<Rule> of(@NotNull Class<?> cls) {
+            List<Rule> rules = new ArrayList<>();
+            for(CmdConflicts c : cls.getDeclaredAnnotationsByType(CmdConflicts.class)) rules.add(new Rule(null, c.value(), "@CmdConflicts of " + cls.getName()));
+            for(CmdRequires r : cls.getDeclaredAnnotationsByType(CmdRequires.class)) rules.add(new Rule(r.option(), r.requires(), "@CmdRequires of " + cls.getName()));
+            return rules;
+        }
+    }
+}
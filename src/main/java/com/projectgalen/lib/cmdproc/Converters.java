@@ -0,0 +1,179 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Converters.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.*;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The registry of {@link ValueConverter}s used to bind command-line values to annotated fields and methods. Converters for strings, primitives and their
+ * boxed types, enums, {@link Path}, {@link Duration}, {@link URI}, {@link Pattern} and the ISO-8601 forms of {@link Instant}, {@link LocalDate},
+ * {@link LocalTime}, {@link LocalDateTime}, {@link OffsetDateTime} and {@link ZonedDateTime} are built in. Others can be added with
+ * {@link #register(Class, ValueConverter)}.
+ * <p>
+ * The converter of a member is looked up once, when it's class is first scanned, and is kept with the class for the life of the JVM - see
+ * {@link ClassMetadata}. A converter must therefore be registered before the class that needs it is first scanned by any {@link CmdLnInfo}. Registering it
+ * later has no effect on that class, including for {@link CmdLnInfo}s built afterwards.
+ * <p>
+ * Members of type {@code boolean}, {@code int}, {@code long} and {@code double} are parsed straight into the member without boxing as long as the built in
+ * converter for that type has not been replaced. Types that are costly to build can be converted when they are first used instead, see {@link Lazy}.
+ */
+public final class Converters {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    static final ValueConverter<Boolean> BOOLEAN = Boolean::valueOf;
+    static final ValueConverter<Integer> INT     = Integer::valueOf;
+    static final ValueConverter<Long>    LONG    = Long::valueOf;
+    static final ValueConverter<Double>  DOUBLE  = Double::valueOf;
+
+    private static final Map<Class<?>, ValueConverter<?>> CONVERTERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ValueConverter<?>> BUILT_IN;
+    /**
+     * The converters of the application's enums are kept with the enum class itself rather than in {@link #CONVERTERS} so that they don't keep the class,
+     * and it's class loader, from being unloaded.
+     */
+    private static final ClassValue<ValueConverter<?>>    ENUMS      = new ClassValue<>() {
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        protected @Override ValueConverter<?> computeValue(@NotNull Class<?> type) {
+            return enumConverter((Class)type);
+        }
+    };
+
+    static {
+        ValueConverter<Byte>      toByte  = Byte::valueOf;
+        ValueConverter<Short>     toShort = Short::valueOf;
+        ValueConverter<Float>     toFloat = Float::valueOf;
+        ValueConverter<Character> toChar  = Converters::toChar;
+
+        CONVERTERS.put(String.class, v -> v);
+        CONVERTERS.put(Object.class, v -> v);
+        CONVERTERS.put(CharSequence.class, v -> v);
+        CONVERTERS.put(boolean.class, BOOLEAN);
+        CONVERTERS.put(Boolean.class, BOOLEAN);
+        CONVERTERS.put(byte.class, toByte);
+        CONVERTERS.put(Byte.class, toByte);
+        CONVERTERS.put(short.class, toShort);
+        CONVERTERS.put(Short.class, toShort);
+        CONVERTERS.put(char.class, toChar);
+        CONVERTERS.put(Character.class, toChar);
+        CONVERTERS.put(int.class, INT);
+        CONVERTERS.put(Integer.class, INT);
+        CONVERTERS.put(long.class, LONG);
+        CONVERTERS.put(Long.class, LONG);
+        CONVERTERS.put(float.class, toFloat);
+        CONVERTERS.put(Float.class, toFloat);
+        CONVERTERS.put(double.class, DOUBLE);
+        CONVERTERS.put(Double.class, DOUBLE);
+        CONVERTERS.put(Path.class, (ValueConverter<Path>)Path::of);
+        CONVERTERS.put(Duration.class, (ValueConverter<Duration>)Duration::parse);
+        CONVERTERS.put(URI.class, (ValueConverter<URI>)URI::create);
+        CONVERTERS.put(Pattern.class, (ValueConverter<Pattern>)Pattern::compile);
+        CONVERTERS.put(Instant.class, (ValueConverter<Instant>)Instant::parse);
+        CONVERTERS.put(LocalDate.class, (ValueConverter<LocalDate>)LocalDate::parse);
+        CONVERTERS.put(LocalTime.class, (ValueConverter<LocalTime>)LocalTime::parse);
+        CONVERTERS.put(LocalDateTime.class, (ValueConverter<LocalDateTime>)LocalDateTime::parse);
+        CONVERTERS.put(OffsetDateTime.class, (ValueConverter<OffsetDateTime>)OffsetDateTime::parse);
+        CONVERTERS.put(ZonedDateTime.class, (ValueConverter<ZonedDateTime>)ZonedDateTime::parse);
+        BUILT_IN = Map.copyOf(CONVERTERS);
+    }
+
+    private Converters() { }
+
+    /**
+     * Returns the converter for the given type.
+     *
+     * @param type The type.
+     * @param <T>  The type.
+     * @return The converter.
+     * @throws IllegalArgumentException If there is no converter for the type.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @NotNull ValueConverter<T> get(@NotNull Class<T> type) {
+        ValueConverter<?> converter = CONVERTERS.get(type);
+        if((converter == null) && type.isEnum()) converter = ENUMS.get(type);
+        if(converter == null) throw new IllegalArgumentException(msgs.getString("msg.err.no_converter").formatted(type.getName()));
+        return (ValueConverter<T>)converter;
+    }
+
+    /**
+     * Returns the converter that was registered for the given type in place of the built in one. The classes generated by the annotation processor use this to
+     * parse primitives, their boxed types, strings and enums directly, exactly as the reflection binding does, unless the converter has been replaced.
+     *
+     * @param type The type.
+     * @param <T>  The type.
+     * @return The converter or {@code null} if the built in converter, or for an enum none at all, is registered.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> @Nullable ValueConverter<T> getReplacement(@NotNull Class<T> type) {
+        ValueConverter<?> converter = CONVERTERS.get(type);
+        return ((converter == BUILT_IN.get(type)) ? null : (ValueConverter<T>)converter);
+    }
+
+    /**
+     * Returns {@code true} if there is a converter for the given type.
+     */
+    public static boolean has(@NotNull Class<?> type) {
+        return (type.isEnum() || CONVERTERS.containsKey(type));
+    }
+
+    /**
+     * Registers a converter, replacing any that was already registered for the type. Primitive types and their boxed types are registered separately. Classes
+     * that have already been scanned keep the converter they were bound with.
+     *
+     * @param type      The type.
+     * @param converter The converter.
+     * @param <T>       The type.
+     */
+    public static <T> void register(@NotNull Class<T> type, @NotNull ValueConverter<? extends T> converter) {
+        CONVERTERS.put(type, converter);
+    }
+
+    /**
+     * Returns {@code true} if the converter for the type is the given built in converter - meaning the value can be parsed straight into a primitive member.
+     */
+    static boolean isBuiltIn(@NotNull Class<?> type, @NotNull ValueConverter<?> builtIn) {
+        return (CONVERTERS.get(type) == builtIn);
+    }
+
+    /**
+     * Puts back the built in converter for the type, or for a type without one removes the registered converter.
+     */
+    static void reset(@NotNull Class<?> type) {
+        ValueConverter<?> builtIn = BUILT_IN.get(type);
+        if(builtIn == null) CONVERTERS.remove(type);
+        else CONVERTERS.put(type, builtIn);
+    }
+
+    private static <E extends Enum<E>> @NotNull ValueConverter<E> enumConverter(@NotNull Class<E> type) {
+        return v -> Enum.valueOf(type, v);
+    }
+
+    private static @NotNull Character toChar(@NotNull String value) {
+        if(value.length() != 1) throw new IllegalArgumentException(msgs.getString("msg.err.not_a_char").formatted(value));
+        return value.charAt(0);
+    }
+}
@@ -20,6 +20,7 @@ package com.projectgalen.lib.cmdproc;
 import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
 import com.projectgalen.lib.cmdproc.annotations.CmdParam;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Field;
@@ -33,17 +34,21 @@ import java.util.ResourceBundle;
 public final class FPData {
     private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
 
-    public final boolean          isFlag;
-    public final boolean          required;
-    public final String           longName;
-    public final int              shortName;
-    public final String           documentation;
-    public final String[]         allowedValues;
-    public final AccessibleObject accessibleObject;
-    public final boolean          hasLongName;
-    public final boolean          hasShortName;
+    public final boolean                    isFlag;
+    public final boolean                    required;
+    public final String                     longName;
+    public final int                        shortName;
+    public final String                     documentation;
+    public final String[]                   allowedValues;
+    public final @Nullable AccessibleObject accessibleObject;
+    public final boolean                    hasLongName;
+    public final boolean                    hasShortName;
+    public final String                     memberName;
+    public final String                     separator;
 
-    private boolean notSet = true;
+    private final @NotNull  ValueSetter         setter;
+    private final @Nullable ValueBuffer.Binding repeatable;
+    private                 boolean             notSet = true;
 
     public FPData(@NotNull CmdFlag flag, @NotNull AccessibleObject ao) {
         isFlag           = true;
@@ -55,6 +60,10 @@ public final class FPData {
         accessibleObject = ao;
         hasLongName      = !longName.isEmpty();
         hasShortName     = (shortName != 0);
+        memberName       = MemberBinding.memberName(ao);
+        separator        = "";
+        repeatable       = ValueBuffer.bind(ao, true, separator);
+        setter           = ((repeatable == null) ? MemberBinding.forValue(ao, getSwitchName()) : repeatable.setter());
     }
 
     public FPData(@NotNull CmdParam param, @NotNull AccessibleObject ao) {
@@ -67,6 +76,30 @@ public final class FPData {
         accessibleObject = ao;
         hasLongName      = !longName.isEmpty();
         hasShortName     = (shortName != 0);
+        memberName       = MemberBinding.memberName(ao);
+        separator        = param.separator();
+        repeatable       = ValueBuffer.bind(ao, false, separator);
+        setter           = ((repeatable == null) ? MemberBinding.forValue(ao, getSwitchName()) : repeatable.setter());
+    }
+
+    /**
+     * Used by the classes generated by the annotation processor. The annotation values have already been validated at compile time and the value is
+     * assigned directly by the given setter rather than through reflection.
+     */
+    public FPData(boolean isFlag, boolean required, @NotNull String longName, int shortName, @NotNull String documentation, String @NotNull [] allowedValues, @NotNull String memberName, @NotNull ValueSetter setter) {
+        this.isFlag           = isFlag;
+        this.required         = required;
+        this.longName         = longName;
+        this.shortName        = shortName;
+        this.documentation    = documentation;
+        this.allowedValues    = (isFlag ? new String[] { Boolean.TRUE.toString(), Boolean.FALSE.toString() } : allowedValues);
+        this.accessibleObject = null;
+        this.hasLongName      = !longName.isEmpty();
+        this.hasShortName     = (shortName != 0);
+        this.memberName       = memberName;
+        this.separator        = "";
+        this.setter           = setter;
+        this.repeatable       = null;
     }
 
     public @Override boolean equals(Object object) {/*@f0*/
@@ -78,67 +111,199 @@ public final class FPData {
                         && Objects.equals(longName, fpData.longName)
                         && Objects.equals(documentation, fpData.documentation)
                         && Objects.deepEquals(allowedValues, fpData.allowedValues)
-                        && Objects.equals(accessibleObject, fpData.accessibleObject))));
+                        && Objects.equals(memberName, fpData.memberName)
+                        && Objects.equals(separator, fpData.separator))));
     }/*@f1*/
 
-    public AccessibleObject getAccessibleObject()   { return accessibleObject; }
+    /**
+     * Returns the field or method, or {@code null} if the metadata was not found with reflection - generated by the annotation processor, read by the agent or
+     * loaded from a {@link MetadataSnapshot} - in which case only the {@link #getMemberName() member name} identifies it.
+     */
+    public @Nullable AccessibleObject getAccessibleObject() { return accessibleObject; }
+
+    public String[] getAllowedValues()                      { return allowedValues; }
+
+    public String getDocumentation()                        { return documentation; }
 
-    public String[] getAllowedValues()              { return allowedValues; }
+    public String getLongName()                             { return longName; }
 
-    public String getDocumentation()                { return documentation; }
+    /**
+     * Returns the name of the member in the same form however the metadata was found: {@code pkg.Class.field} or {@code pkg.Class.method(type)}, with the
+     * binary names of the classes.
+     */
+    public String getMemberName()                           { return memberName; }
 
-    public String getLongName()                     { return longName; }
+    public int getShortName()                               { return shortName; }
 
-    public int getShortName()                       { return shortName; }
+    public @NotNull String getShortNameStr()                { return Character.toString(shortName); }
 
-    public @NotNull String getShortNameStr()        { return Character.toString(shortName); }
+    public @NotNull String getSwitchName()                  { return (hasLongName ? "--%s".formatted(longName) : "-%s".formatted(getShortNameStr())); }
 
-    public boolean hasLongName()                    { return hasLongName; }
+    public boolean hasLongName()                            { return hasLongName; }
 
-    public boolean hasShortName()                   { return hasShortName; }
+    public boolean hasShortName()                           { return hasShortName; }
 
-    public @Override int hashCode()                 { return Objects.hash(isFlag, required, longName, shortName, documentation, Arrays.hashCode(allowedValues), accessibleObject); }
+    public @Override int hashCode()                         { return Objects.hash(isFlag, required, longName, shortName, documentation, Arrays.hashCode(allowedValues), memberName, separator); }
 
-    public boolean isFlag()                         { return isFlag; }
+    public boolean isFlag()                                 { return isFlag; }
 
-    public boolean isLongName(@NotNull String name) { return name.equals(longName); }
+    public boolean isLongName(@NotNull String name)         { return name.equals(longName); }
 
-    public boolean isParam()                        { return !isFlag; }
+    public boolean isParam()                                { return !isFlag; }
 
-    public boolean isRequired()                     { return required; }
+    /**
+     * Returns {@code true} if this is a parameter that can be given more than once, or a flag that counts how often it was given.
+     *
+     * @see ValueBuffer
+     */
+    public boolean isRepeatable()                           { return (repeatable != null); }
 
-    public boolean isShortName(int name)            { return (name == shortName); }
+    public boolean isRequired()                             { return required; }
 
-    public boolean notSet()                         { return notSet; }
+    public boolean isShortName(int name)                    { return (name == shortName); }
 
+    /**
+     * Returns {@code true} if this flag or parameter has not been set by {@link #setValue(String)} or by a parser made with one of the constructors of
+     * {@link CmdProc} that take the annotated classes. Parsers that share a {@link CmdLnInfo} don't update it.
+     *
+     * @deprecated Use {@link CmdProc#isSet(FPData)} which is kept per parse.
+     */
+    @Deprecated
+    public boolean notSet()                                 { return notSet; }
+
+    /**
+     * Converts the value and assigns it to the annotated static field or passes it to the annotated static method.
+     *
+     * @param value The value from the command-line.
+     * @return The value.
+     * @throws IllegalArgumentException If the value could not be converted to the type of the field or method.
+     */
     public @NotNull String setValue(@NotNull String value) {
-        // TODO: Implement.
-        notSet = false;
+        setValue(null, value);
+        markSet();
+        return value;
+    }
+
+    /**
+     * Converts the value and assigns it to the annotated field or passes it to the annotated method.
+     *
+     * @param target The object being bound to - ignored for static members.
+     * @param value  The value from the command-line.
+     * @return The value.
+     * @throws IllegalArgumentException If the value could not be converted to the type of the field or method.
+     */
+    public @NotNull String setValue(@Nullable Object target, @NotNull String value) {
+        try {
+            setter.setValue(target, value);
+        }
+        catch(RuntimeException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.bad_value").formatted(value, getSwitchName(), e.getMessage()), e);
+        }
         return value;
     }
 
+    /**
+     * Adds a value, or an occurrence of a counted flag, to the buffer that collects them for a parse.
+     *
+     * @param buffer The buffer from {@link #newBuffer()}.
+     * @param value  A single value - already split at the {@link #separator}.
+     * @throws IllegalArgumentException If the value could not be converted to the type of the elements.
+     */
+    void addValue(@NotNull ValueBuffer buffer, @NotNull String value) {
+        try {
+            buffer.add(value);
+        }
+        catch(RuntimeException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.bad_value").formatted(value, getSwitchName(), e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Returns {@code true} if the member was found with reflection and is bound to a {@link Lazy} value.
+     */
+    boolean isLazy() {
+        return ((accessibleObject != null) && (Lazy.valueType(accessibleObject) != null));
+    }
+
+    /**
+     * Creates the buffer that collects the values of this repeatable parameter or counted flag during a parse.
+     */
+    @NotNull ValueBuffer newBuffer() {
+        return Objects.requireNonNull(repeatable).newBuffer();
+    }
+
+    /**
+     * Splits a value of this repeatable parameter at it's {@link #separator}.
+     */
+    @NotNull List<String> split(@NotNull String value) {
+        return ValueBuffer.split(value, separator);
+    }
+
+    /**
+     * Stores what a parse collected in the member.
+     */
+    void storeValues(@Nullable Object target, @NotNull ValueBuffer buffer) {
+        Objects.requireNonNull(repeatable).store(target, buffer);
+    }
+
+    /**
+     * Notes that the flag or parameter has been set, for {@link #notSet()}. Only the single use parsers call this - the parsers that share a {@link CmdLnInfo}
+     * keep what they set to themselves rather than all writing to the same shared instance.
+     */
+    void markSet() {
+        if(notSet) notSet = false;
+    }
+
     private void process(@NotNull List<FPData> data, @NotNull String kind, @NotNull String aoType) {
-        validate(accessibleObject, kind, aoType);
         if(!(hasLongName || hasShortName)) throw new IllegalArgumentException(msgs.getString("msg.err.needs_name").formatted(kind, aoType, accessibleObject));
         data.add(this);
     }
 
     public static void process(@NotNull List<FPData> cmdLnData, @NotNull AccessibleObject ao, @NotNull String aoType) {
+        process(cmdLnData, ao, aoType, false);
+    }
+
+    /**
+     * @param allowInstance If {@code true} then instance members - and the final fields of records - are allowed. See {@link CmdLnInfo#forType(Class)}.
+     */
+    public static void process(@NotNull List<FPData> cmdLnData, @NotNull AccessibleObject ao, @NotNull String aoType, boolean allowInstance) {
         CmdFlag  cf = ao.getAnnotation(CmdFlag.class);
         CmdParam cp = ao.getAnnotation(CmdParam.class);
 
         if((cf != null) && (cp != null)) throw new IllegalArgumentException(msgs.getString("msg.err.cannot_be_both").formatted(aoType, ao));
-        else if(cf != null) new FPData(cf, ao).process(cmdLnData, msgs.getString("txt.cap.flag"), aoType);
-        else if(cp != null) new FPData(cp, ao).process(cmdLnData, msgs.getString("txt.cap.param"), aoType);
+        else if(cf != null) process(cmdLnData, ao, cf, null, msgs.getString("txt.cap.flag"), aoType, allowInstance);
+        else if(cp != null) process(cmdLnData, ao, null, cp, msgs.getString("txt.cap.param"), aoType, allowInstance);
+    }
+
+    private static void process(@NotNull List<FPData> cmdLnData, @NotNull AccessibleObject ao, @Nullable CmdFlag cf, @Nullable CmdParam cp, @NotNull String kind, @NotNull String aoType, boolean allowInstance) {
+        // The member has to be validated before the constructor resolves the handle to it.
+        validate(ao, kind, aoType, allowInstance);
+        ((cf != null) ? new FPData(cf, ao) : new FPData(cp, ao)).process(cmdLnData, kind, aoType);
     }
 
     public static void validate(@NotNull AccessibleObject accessibleObject, @NotNull String kind, @NotNull String aoType) {
+        validate(accessibleObject, kind, aoType, false);
+    }
+
+    public static void validate(@NotNull AccessibleObject accessibleObject, @NotNull String kind, @NotNull String aoType, boolean allowInstance) {
         if(accessibleObject instanceof Field f) {
-            if((f.getModifiers() & Modifier.STATIC) != Modifier.STATIC) throw new IllegalArgumentException(msgs.getString("msg.err.not_static").formatted(kind, aoType, accessibleObject));
-            if((f.getModifiers() & Modifier.FINAL) == Modifier.FINAL) throw new IllegalArgumentException(msgs.getString("msg.err.is_final").formatted(kind, aoType, accessibleObject));
+            boolean isStatic = ((f.getModifiers() & Modifier.STATIC) == Modifier.STATIC);
+            if(!(isStatic || allowInstance)) throw new IllegalArgumentException(msgs.getString("msg.err.not_static").formatted(kind, aoType, accessibleObject));
+            if(((f.getModifiers() & Modifier.FINAL) == Modifier.FINAL) && (isStatic || !f.getDeclaringClass().isRecord())) {
+                throw new IllegalArgumentException(msgs.getString("msg.err.is_final").formatted(kind, aoType, accessibleObject));
+            }
         }
-        else if((accessibleObject instanceof Method m) && ((m.getModifiers() & Modifier.STATIC) != Modifier.STATIC)) {
+        else if((accessibleObject instanceof Method m) && ((m.getModifiers() & Modifier.STATIC) != Modifier.STATIC) && !allowInstance) {
             throw new IllegalArgumentException(msgs.getString("msg.err.not_static").formatted(kind, aoType, accessibleObject));
         }
     }
+
+    @FunctionalInterface
+    public interface ValueSetter {
+        /**
+         * @param target The object being bound to - {@code null} for static members.
+         * @param value  The value from the command-line.
+         */
+        void setValue(@Nullable Object target, @NotNull String value);
+    }
 }
@@ -0,0 +1,153 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: HelpRenderer.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+/**
+ * Renders the help page of a {@link CmdLnInfo}: one entry per flag or parameter with it's switches on the left and it's documentation, whether it is
+ * required, and it's allowed values on the right, wrapped to the width of the terminal. Only used when the help page is actually shown and
+ * {@link CmdLnInfo#getHelpText(Locale, int)} caches the result.
+ */
+final class HelpRenderer {
+
+    static final int DEFAULT_WIDTH = 80;
+    static final int MIN_WIDTH     = 40;
+
+    private static final int    INDENT     = 2;
+    private static final int    GAP        = 3;
+    private static final int    MAX_SWITCH = 32;
+    private static final String BUNDLE     = "com.projectgalen.lib.cmdproc.messages";
+
+    private HelpRenderer() { }
+
+    /**
+     * Returns the width of the terminal from the {@code COLUMNS} environment variable or {@link #DEFAULT_WIDTH} if it isn't set.
+     */
+    static int terminalWidth() {
+        try {
+            String columns = System.getenv("COLUMNS");
+            return ((columns == null) ? DEFAULT_WIDTH : Math.max(MIN_WIDTH, Integer.parseInt(columns.trim())));
+        }
+        catch(NumberFormatException e) {
+            return DEFAULT_WIDTH;
+        }
+    }
+
+    static @NotNull String render(@NotNull CmdLnInfo info, @NotNull Locale locale, int width) {
+        ResourceBundle msgs     = ResourceBundle.getBundle(BUNDLE, locale);
+        List<String>   switches = new ArrayList<>();
+        List<String>   texts    = new ArrayList<>();
+        int            column   = 0;
+
+        for(FPData fp : info.cmdLnData()) {
+            String sw = switches(fp, msgs);
+            switches.add(sw);
+            texts.add(text(info, fp, msgs));
+            if(sw.length() <= MAX_SWITCH) column = Math.max(column, sw.length());
+        }
+        switches.add("-%s, --%s".formatted(msgs.getString("help.short"), msgs.getString("help.long")));
+        texts.add(msgs.getString("help.text.help"));
+        column = Math.max(column, switches.get(switches.size() - 1).length());
+
+        int           textColumn = (INDENT + column + GAP);
+        int           textWidth  = Math.max((MIN_WIDTH / 2), (Math.max(width, MIN_WIDTH) - textColumn));
+        StringBuilder sb         = new StringBuilder(msgs.getString("help.title")).append(System.lineSeparator());
+
+        for(int i = 0; i < switches.size(); i++) {
+            String sw = switches.get(i);
+            sb.append(" ".repeat(INDENT)).append(sw);
+
+            List<String> lines = wrap(texts.get(i), textWidth);
+            if(lines.isEmpty()) {
+                sb.append(System.lineSeparator());
+                continue;
+            }
+            // A switch that is too long for the column gets it's text on the next line.
+            if(sw.length() > column) sb.append(System.lineSeparator()).append(" ".repeat(textColumn));
+            else sb.append(" ".repeat(textColumn - INDENT - sw.length()));
+
+            for(int j = 0; j < lines.size(); j++) {
+                if(j > 0) sb.append(" ".repeat(textColumn));
+                sb.append(lines.get(j)).append(System.lineSeparator());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static @NotNull String switches(@NotNull FPData fp, @NotNull ResourceBundle msgs) {
+        String value = (fp.isFlag ? "" : msgs.getString("help.value"));
+        if(!fp.hasLongName) return "-%s %s".formatted(fp.getShortNameStr(), value).stripTrailing();
+        String longSwitch = (fp.isFlag ? "--%s".formatted(fp.longName) : "--%s=%s".formatted(fp.longName, value));
+        return (fp.hasShortName ? "-%s, %s".formatted(fp.getShortNameStr(), longSwitch) : "    %s".formatted(longSwitch));
+    }
+
+    private static @NotNull String text(@NotNull CmdLnInfo info, @NotNull FPData fp, @NotNull ResourceBundle msgs) {
+        int           ordinal   = info.ordinalOf(fp);
+        List<String>  requires  = info.constraints().requiredBy(ordinal);
+        List<String>  conflicts = info.constraints().conflictsWith(ordinal);
+        StringBuilder sb        = new StringBuilder(fp.documentation);
+        if(fp.required) {
+            if(!sb.isEmpty()) sb.append(' ');
+            sb.append(msgs.getString("help.required"));
+        }
+        if(fp.isRepeatable()) {
+            if(!sb.isEmpty()) sb.append(' ');
+            sb.append(msgs.getString("help.repeatable"));
+        }
+        if(!fp.isFlag && (fp.allowedValues.length > 0)) {
+            if(!sb.isEmpty()) sb.append(' ');
+            sb.append(msgs.getString("help.allowed").formatted(String.join(", ", fp.allowedValues)));
+        }
+        if(!requires.isEmpty()) {
+            if(!sb.isEmpty()) sb.append(' ');
+            sb.append(msgs.getString("help.requires").formatted(String.join(", ", requires)));
+        }
+        if(!conflicts.isEmpty()) {
+            if(!sb.isEmpty()) sb.append(' ');
+            sb.append(msgs.getString("help.conflicts").formatted(String.join(", ", conflicts)));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Splits the text into lines no longer than the given width, breaking at white space. Words that are longer than the width are put on a line of their own.
+     */
+    private static @NotNull List<String> wrap(@NotNull String text, int width) {
+        List<String>  lines = new ArrayList<>();
+        StringBuilder line  = new StringBuilder();
+
+        for(String word : text.strip().split("\\s+")) {
+            if(word.isEmpty()) continue;
+            if(!line.isEmpty() && ((line.length() + 1 + word.length()) > width)) {
+                lines.add(line.toString());
+                line.setLength(0);
+            }
+            if(!line.isEmpty()) line.append(' ');
+            line.append(word);
+        }
+        if(!line.isEmpty()) lines.add(line.toString());
+        return lines;
+    }
+}
@@ -0,0 +1,126 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: InstanceBinding.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.RecordComponent;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+
+/**
+ * Creates the object that a parse binds to when the {@link CmdLnInfo} was built with {@link CmdLnInfo#forType(Class)}. For an ordinary class a new instance is
+ * created, with it's no-argument constructor, before the parse and the values are set on it as they are found. For a record the values are collected in an
+ * array during the parse and the canonical constructor is called with them at the end. The constructor handles are resolved once.
+ */
+final class InstanceBinding {
+
+    private static final ResourceBundle              msgs     = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final ClassValue<InstanceBinding> BINDINGS = new ClassValue<>() {
+        protected @Override InstanceBinding computeValue(@NotNull Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private final Class<?>     type;
+    private final MethodHandle constructor;
+    private final Object[]     defaults;
+
+    private InstanceBinding(@NotNull Class<?> type, @NotNull MethodHandle constructor, Object[] defaults) {
+        this.type        = type;
+        this.constructor = constructor;
+        this.defaults    = defaults;
+    }
+
+    /**
+     * Returns the object that is bound to during the parse.
+     */
+    @NotNull Object newTarget() {
+        if(defaults != null) return defaults.clone();
+
+        try {
+            return (Object)constructor.invokeExact();
+        }
+        catch(Throwable t) {
+            throw new IllegalStateException(msgs.getString("msg.err.cannot_create").formatted(type.getName(), t), t);
+        }
+    }
+
+    /**
+     * Returns the result of the parse once all of the values have been bound.
+     *
+     * @throws IllegalArgumentException If the canonical constructor of the record rejects the values - with any exception, such as the
+     *                                  {@link NullPointerException} of {@link java.util.Objects#requireNonNull(Object)} for a missing value.
+     */
+    @NotNull Object finish(@NotNull Object target) {
+        if(defaults == null) return target;
+
+        try {
+            return (Object)constructor.invokeExact((Object[])target);
+        }
+        catch(Exception e) {
+            String reason = ((e.getMessage() == null) ? e.toString() : e.getMessage());
+            throw new IllegalArgumentException(msgs.getString("msg.err.rejected").formatted(type.getName(), reason), e);
+        }
+        catch(Throwable t) {
+            throw new IllegalStateException(msgs.getString("msg.err.cannot_create").formatted(type.getName(), t), t);
+        }
+    }
+
+    @NotNull Class<?> getType() {
+        return type;
+    }
+
+    static int componentIndex(@NotNull Field f) {
+        RecordComponent[] components = f.getDeclaringClass().getRecordComponents();
+        for(int i = 0; i < components.length; i++) if(components[i].getName().equals(f.getName())) return i;
+        throw new IllegalArgumentException(f.toString());
+    }
+
+    static @NotNull InstanceBinding of(@NotNull Class<?> type) {
+        return BINDINGS.get(type);
+    }
+
+    private static @NotNull InstanceBinding create(@NotNull Class<?> type) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+
+            if(type.isRecord()) {
+                Class<?>[]   types    = Arrays.stream(type.getRecordComponents()).map(RecordComponent::getType).toArray(Class<?>[]::new);
+                Object[]     defaults = Arrays.stream(types).map(InstanceBinding::defaultValue).toArray();
+                MethodHandle ctor     = lookup.findConstructor(type, MethodType.methodType(void.class, types)).asSpreader(Object[].class, types.length);
+                return new InstanceBinding(type, ctor.asType(MethodType.methodType(Object.class, Object[].class)), defaults);
+            }
+
+            MethodHandle ctor = lookup.findConstructor(type, MethodType.methodType(void.class));
+            return new InstanceBinding(type, ctor.asType(MethodType.methodType(Object.class)), null);
+        }
+        catch(NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.no_constructor").formatted(type.getName()), e);
+        }
+    }
+
+    private static Object defaultValue(@NotNull Class<?> type) {
+        return (type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null);
+    }
+}
@@ -20,6 +20,12 @@ package com.projectgalen.lib.cmdproc;
 import java.lang.instrument.Instrumentation;
 import java.util.UUID;
 
+/**
+ * The entry points for using this library as a Java agent: {@code -javaagent:PGJCmdProc.jar}. While the agent is running the class files of the classes that
+ * are loaded are checked for members annotated with {@code @CmdFlag}, {@code @CmdParam} or {@code @CmdOther}. Those members are then bound through handles
+ * resolved by name when a {@link CmdLnInfo} is built, instead of finding them by scanning every field and method of the class with reflection. The classes
+ * themselves are not changed. When the agent is attached to a running JVM only the classes loaded after that are indexed.
+ */
 public class InstrumentHook {
 
     private static final Object AGENT_ARGS_KEY      = UUID.randomUUID();
@@ -27,7 +33,6 @@ public class InstrumentHook {
 
     public static void agentmain(String agentArgs, Instrumentation inst) {
         setup(agentArgs, inst);
-        System.err.println("agentmain");
     }
 
     public static Instrumentation getInstrumentation() {
@@ -36,11 +41,11 @@ public class InstrumentHook {
 
     public static void premain(String agentArgs, Instrumentation inst) {
         setup(agentArgs, inst);
-        System.err.println("premain");
     }
 
     private static void setup(String agentArgs, Instrumentation inst) {
         if(agentArgs != null) System.getProperties().put(AGENT_ARGS_KEY, agentArgs);
         System.getProperties().put(INSTRUMENTATION_KEY, inst);
+        AnnotationIndex.install(inst);
     }
 }
@@ -0,0 +1,151 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Lazy.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.*;
+import java.util.ResourceBundle;
+import java.util.function.Supplier;
+
+/**
+ * A value from the command-line that is converted the first time it is asked for instead of when the command-line is parsed. A parameter whose member is a
+ * {@link Supplier} or a {@code Lazy} of some type that there is a converter for is bound to one of these, so that types that are costly to build - a compiled
+ * {@link java.util.regex.Pattern}, a parsed date, or anything a registered converter makes - only cost something when the code actually reads them. The
+ * converted value is kept and every later call returns the same object, from any thread.
+ * <p>
+ * The catch is that a value that cannot be converted is not reported by the parse. {@link #get()} throws an {@link IllegalArgumentException} instead, every
+ * time it is called.
+ * <pre>
+ *     &#64;CmdParam(longName = "exclude")
+ *     public static Supplier&lt;Pattern&gt; exclude;
+ * </pre>
+ *
+ * @param <T> The type of the value.
+ */
+public final class Lazy<T> implements Supplier<T> {
+
+    private static final ResourceBundle msgs  = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final Object         UNSET = new Object();
+
+    private final    String                      raw;
+    private final    ValueConverter<? extends T> converter;
+    private final    String                      switchName;
+    private volatile Object                      value = UNSET;
+
+    /**
+     * @param raw        The value from the command-line.
+     * @param converter  Converts the value.
+     * @param switchName The switch the value was given for, for the error message, or {@code null}.
+     */
+    public Lazy(@NotNull String raw, @NotNull ValueConverter<? extends T> converter, @Nullable String switchName) {
+        this.raw        = raw;
+        this.converter  = converter;
+        this.switchName = switchName;
+    }
+
+    /**
+     * Returns the converted value, converting it if this is the first call.
+     *
+     * @return The value.
+     * @throws IllegalArgumentException If the value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    public @Override T get() {
+        Object v = value;
+        if(v == UNSET) {
+            synchronized(this) {
+                v = value;
+                if(v == UNSET) value = v = convert();
+            }
+        }
+        return (T)v;
+    }
+
+    /**
+     * Returns the value as it was given on the command-line.
+     */
+    public @NotNull String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Returns {@code true} if the value has been converted.
+     */
+    public boolean isConverted() {
+        return (value != UNSET);
+    }
+
+    public @Override String toString() {
+        return "Lazy[%s]".formatted(raw);
+    }
+
+    private T convert() {
+        try {
+            return converter.convert(raw);
+        }
+        catch(RuntimeException e) {
+            if(switchName == null) throw new IllegalArgumentException(msgs.getString("msg.err.bad_lazy").formatted(raw, e.getMessage()), e);
+            throw new IllegalArgumentException(msgs.getString("msg.err.bad_value").formatted(raw, switchName, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Creates a value that is converted with the converter registered for the given type. Handy for the default value of a member.
+     *
+     * @param raw  The value as it would be given on the command-line.
+     * @param type The type of the value.
+     * @param <T>  The type of the value.
+     * @return The value.
+     * @throws IllegalArgumentException If there is no converter for the type.
+     */
+    public static <T> @NotNull Lazy<T> of(@NotNull String raw, @NotNull Class<T> type) {
+        return new Lazy<>(raw, Converters.get(type), null);
+    }
+
+    /**
+     * Returns {@code true} if a member of the given type is bound to a {@code Lazy}.
+     */
+    static boolean isLazy(@NotNull Class<?> type) {
+        return (((type == Supplier.class) || (type == Lazy.class)) && !Converters.has(type));
+    }
+
+    /**
+     * Returns the type of the value of a {@link Supplier} or {@code Lazy} member - {@link String} if it has no type argument - or {@code null} if the member is
+     * neither or the type cannot be known.
+     */
+    static @Nullable Class<?> valueType(@NotNull AccessibleObject ao) {
+        Type generic;
+
+        if(ao instanceof Field f) {
+            if(!isLazy(f.getType())) return null;
+            generic = f.getGenericType();
+        }
+        else {
+            Method m = (Method)ao;
+            if((m.getParameterCount() != 1) || !isLazy(m.getParameterTypes()[0])) return null;
+            generic = m.getGenericParameterTypes()[0];
+        }
+
+        if(!(generic instanceof ParameterizedType pt)) return String.class;
+        Type arg = pt.getActualTypeArguments()[0];
+        if((arg instanceof WildcardType wt) && (wt.getLowerBounds().length == 0)) arg = wt.getUpperBounds()[0];
+        return ((arg instanceof Class<?> cls) ? cls : null);
+    }
+}
@@ -0,0 +1,229 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: LineTokenizer.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ResourceBundle;
+
+/**
+ * Splits a whole command-line held in a {@link CharSequence} into arguments the way a POSIX shell does:
+ * <ul>
+ *     <li>Arguments are separated by white space.</li>
+ *     <li>Text in single quotes is taken as is.</li>
+ *     <li>Text in double quotes can contain white space and a backslash only escapes {@code $}, {@code `}, {@code "}, {@code \} and the end of a line.</li>
+ *     <li>Outside of quotes a backslash takes the next character as is and a backslash at the end of a line joins it to the next line.</li>
+ *     <li>A {@code #} at the start of an argument starts a comment that runs to the end of the line.</li>
+ * </ul>
+ * As in a shell, an unquoted {@code \-} becomes {@code -}, so the {@code \-} escape that stops an argument from being taken as a switch has to be written
+ * {@code '\-'} or {@code \\-}.
+ * <p>
+ * An argument without quotes or backslashes is returned as a view of the command-line, so no characters are copied until the parser turns it into a
+ * {@link String} - which it only does for values that are bound. Not thread safe.
+ */
+final class LineTokenizer {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private final CharSequence  text;
+    private final int           len;
+    private final StringBuilder sb  = new StringBuilder();
+    private       int           pos = 0;
+
+    LineTokenizer(@NotNull CharSequence text) {
+        this.text = text;
+        this.len  = text.length();
+    }
+
+    /**
+     * Returns the next argument.
+     *
+     * @return The argument or {@code null} if there are no more.
+     * @throws IllegalArgumentException If a quote is not closed.
+     */
+    @Nullable CharSequence next() {
+        if(!skipSpaceAndComments()) return null;
+
+        int start = pos;
+        while((pos < len) && !isSpace(text.charAt(pos))) {
+            char ch = text.charAt(pos);
+            if((ch == '\'') || (ch == '"') || (ch == '\\')) return unquote(start);
+            ++pos;
+        }
+        return new Region(text, start, pos);
+    }
+
+    /**
+     * Finishes an argument that has quotes or backslashes in it by copying it's characters, with the quoting removed, into a new string.
+     */
+    private @NotNull String unquote(int start) {
+        sb.setLength(0);
+        sb.append(text, start, pos);
+
+        while((pos < len) && !isSpace(text.charAt(pos))) {
+            char ch = text.charAt(pos++);
+
+            if(ch == '\'') {
+                int end = pos;
+                while((end < len) && (text.charAt(end) != '\'')) ++end;
+                if(end == len) return unclosedQuote();
+                sb.append(text, pos, end);
+                pos = (end + 1);
+            }
+            else if(ch == '"') {
+                readDoubleQuoted();
+            }
+            else if(ch == '\\') {
+                if(pos == len) sb.append(ch);
+                else if(!skipLineEnd()) sb.append(text.charAt(pos++));
+            }
+            else {
+                sb.append(ch);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private void readDoubleQuoted() {
+        while(pos < len) {
+            char ch = text.charAt(pos++);
+
+            if(ch == '"') return;
+            if((ch == '\\') && (pos < len)) {
+                char nx = text.charAt(pos);
+                if(skipLineEnd()) continue;
+                if((nx == '$') || (nx == '`') || (nx == '"') || (nx == '\\')) {
+                    ch = nx;
+                    ++pos;
+                }
+            }
+            sb.append(ch);
+        }
+        unclosedQuote();
+    }
+
+    /**
+     * Throws the error for a quote that is not closed. The rest of the command-line is skipped first so that a parser that carries on after errors doesn't read
+     * the inside of the quotes as arguments.
+     */
+    private @NotNull String unclosedQuote() {
+        pos = len;
+        throw new IllegalArgumentException(msgs.getString("msg.err.argfile_quote"));
+    }
+
+    /**
+     * Skips a line ending, of any style, at the current position.
+     *
+     * @return {@code true} if there was one.
+     */
+    private boolean skipLineEnd() {
+        char ch = text.charAt(pos);
+        if(ch == '\n') ++pos;
+        else if(ch == '\r') pos += (((pos + 1) < len) && (text.charAt(pos + 1) == '\n')) ? 2 : 1;
+        else return false;
+        return true;
+    }
+
+    private boolean skipSpaceAndComments() {
+        while(pos < len) {
+            char ch = text.charAt(pos);
+            if(ch == '#') {
+                while((pos < len) && (text.charAt(pos) != '\n') && (text.charAt(pos) != '\r')) ++pos;
+            }
+            else if(isSpace(ch)) {
+                ++pos;
+            }
+            else if((ch == '\\') && ((pos + 1) < len) && ((text.charAt(pos + 1) == '\n') || (text.charAt(pos + 1) == '\r'))) {
+                // A line continuation between arguments.
+                ++pos;
+                skipLineEnd();
+            }
+            else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the UTF-8 text in the remaining bytes of the buffer as a {@link CharSequence} without changing the buffer's position. Text that is all ASCII, which
+     * command-lines almost always are, is read straight from the buffer without being decoded.
+     */
+    static @NotNull CharSequence decode(@NotNull ByteBuffer buffer) {
+        ByteBuffer bytes = buffer.slice();
+        for(int i = 0; i < bytes.limit(); i++) if(bytes.get(i) < 0) return StandardCharsets.UTF_8.decode(bytes);
+        return new Ascii(bytes);
+    }
+
+    private static boolean isSpace(char ch) {
+        return ((ch == ' ') || (ch == '\t') || (ch == '\n') || (ch == '\r') || (ch == '\f'));
+    }
+
+    /**
+     * A view of ASCII text in a {@link ByteBuffer}.
+     */
+    private record Ascii(@NotNull ByteBuffer bytes) implements CharSequence {
+        public @Override char charAt(int index) {
+            return (char)bytes.get(index);
+        }
+
+        public @Override int length() {
+            return bytes.limit();
+        }
+
+        public @Override @NotNull CharSequence subSequence(int start, int end) {
+            return new Region(this, start, end);
+        }
+
+        public @Override @NotNull String toString() {
+            byte[] b = new byte[bytes.limit()];
+            bytes.get(0, b);
+            return new String(b, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    /**
+     * A view of part of a {@link CharSequence}.
+     */
+    private record Region(@NotNull CharSequence text, int start, int end) implements CharSequence {
+        public @Override char charAt(int index) {
+            return text.charAt(start + index);
+        }
+
+        public @Override int length() {
+            return (end - start);
+        }
+
+        public @Override @NotNull CharSequence subSequence(int from, int to) {
+            return new Region(text, (start + from), (start + to));
+        }
+
+        public @Override @NotNull String toString() {
+            if(text instanceof Ascii a) {
+                byte[] b = new byte[end - start];
+                a.bytes().get(start, b);
+                return new String(b, StandardCharsets.ISO_8859_1);
+            }
+            return text.subSequence(start, end).toString();
+        }
+    }
+}
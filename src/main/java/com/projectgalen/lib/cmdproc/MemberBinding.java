@@ -0,0 +1,232 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: MemberBinding.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the setters used by {@link FPData} and {@link OData} for members found with reflection. The {@link VarHandle} or {@link MethodHandle} for the member
+ * is resolved once, when the {@link CmdLnInfo} is built, and the value is converted with the {@link ValueConverter} registered in {@link Converters} at the
+ * same time. Members of type {@code boolean}, {@code int}, {@code long} and {@code double} get setters that parse the value without boxing it, and members of
+ * type {@link java.util.function.Supplier} or {@link Lazy} get setters that leave the conversion until the value is asked for.
+ * <p>
+ * Every member is reduced to a handle of the type {@code (Object target, T value)void}. For static members the target is ignored, for instance members it is
+ * the object being bound and for the components of a record it is the array of arguments that will be passed to the canonical constructor.
+ */
+final class MemberBinding {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private MemberBinding() { }
+
+    /**
+     * @param ao         The field or method.
+     * @param switchName The switch of the flag or parameter, for the errors of {@link Lazy} values.
+     */
+    static @NotNull FPData.ValueSetter forValue(@NotNull AccessibleObject ao, @NotNull String switchName) {
+        Class<?> lazyType = Lazy.valueType(ao);
+        if(lazyType == null) return forValue(setterHandle(ao));
+
+        ValueConverter<?> converter = Converters.get(lazyType);
+        MethodHandle      h         = setterHandle(ao).asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (t, v) -> invoke(h, t, new Lazy<>(v, converter, switchName));
+    }
+
+    /**
+     * @param mh A handle of the type {@code (Object target, T value)void}.
+     */
+    static @NotNull FPData.ValueSetter forValue(@NotNull MethodHandle mh) {
+        Class<?> type = mh.type().parameterType(1);
+
+        if((type == boolean.class) && Converters.isBuiltIn(type, Converters.BOOLEAN)) {
+            MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, boolean.class));
+            return (t, v) -> {
+                try {
+                    h.invokeExact(t, Boolean.parseBoolean(v));
+                }
+                catch(Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        if((type == int.class) && Converters.isBuiltIn(type, Converters.INT)) {
+            MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, int.class));
+            return (t, v) -> {
+                try {
+                    h.invokeExact(t, Integer.parseInt(v));
+                }
+                catch(Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        if((type == long.class) && Converters.isBuiltIn(type, Converters.LONG)) {
+            MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, long.class));
+            return (t, v) -> {
+                try {
+                    h.invokeExact(t, Long.parseLong(v));
+                }
+                catch(Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+        if((type == double.class) && Converters.isBuiltIn(type, Converters.DOUBLE)) {
+            MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, double.class));
+            return (t, v) -> {
+                try {
+                    h.invokeExact(t, Double.parseDouble(v));
+                }
+                catch(Throwable e) {
+                    throw rethrow(e);
+                }
+            };
+        }
+
+        ValueConverter<?> converter = Converters.get(type);
+        MethodHandle      h         = mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (t, v) -> invoke(h, t, converter.convert(v));
+    }
+
+    static @NotNull OData.ValuesSetter forValues(@NotNull AccessibleObject ao, boolean isArray) {
+        return forValues(setterHandle(ao), isArray);
+    }
+
+    static @NotNull OData.ValuesSetter forValues(@NotNull MethodHandle mh, boolean isArray) {
+        MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (isArray ? (t, v) -> invoke(h, t, v.toArray(new String[0])) : (t, v) -> invoke(h, t, new ArrayList<>(v)));
+    }
+
+    static @NotNull OData.ValueReceiver forReceiver(@NotNull AccessibleObject ao) {
+        return forReceiver(setterHandle(ao));
+    }
+
+    static @NotNull OData.ValueReceiver forReceiver(@NotNull MethodHandle mh) {
+        MethodHandle h = mh.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (t, v) -> invoke(h, t, v);
+    }
+
+    /**
+     * Returns the name of a member in the form used by every {@link FPData} and {@link OData}, however they were found: {@code pkg.Class.field} or
+     * {@code pkg.Class.method(type)} with the binary names of the classes, as given by {@link Class#getName()} and {@link Class#getTypeName()}.
+     */
+    static @NotNull String memberName(@NotNull AccessibleObject ao) {
+        Member member = (Member)ao;
+        String name   = "%s.%s".formatted(member.getDeclaringClass().getName(), member.getName());
+        if(!(member instanceof Method m)) return name;
+        return Arrays.stream(m.getParameterTypes()).map(Class::getTypeName).collect(Collectors.joining(",", name + "(", ")"));
+    }
+
+    /**
+     * Returns {@code true} if the field holds a component of a record - in which case it's value is passed to the canonical constructor.
+     */
+    static boolean isRecordComponent(@NotNull Field f) {
+        return (f.getDeclaringClass().isRecord() && !Modifier.isStatic(f.getModifiers()));
+    }
+
+    private static void invoke(@NotNull MethodHandle h, Object target, Object value) {
+        try {
+            h.invokeExact(target, value);
+        }
+        catch(Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static @NotNull MethodHandles.Lookup lookup(@NotNull Class<?> owner) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(owner, MethodHandles.lookup());
+    }
+
+    private static @NotNull RuntimeException rethrow(@NotNull Throwable t) {
+        if(t instanceof RuntimeException e) return e;
+        if(t instanceof Error e) throw e;
+        return new IllegalArgumentException(t.getMessage(), t);
+    }
+
+    private static @NotNull MethodHandle setterHandle(@NotNull AccessibleObject ao) {
+        try {
+            if(ao instanceof Field f) {
+                if(isRecordComponent(f)) {
+                    MethodHandle mh = MethodHandles.arrayElementSetter(Object[].class);
+                    return MethodHandles.insertArguments(mh, 1, InstanceBinding.componentIndex(f)).asType(MethodType.methodType(void.class, Object.class, f.getType()));
+                }
+                return toTargetHandle(lookup(f.getDeclaringClass()).unreflectVarHandle(f).toMethodHandle(VarHandle.AccessMode.SET), isStatic(f));
+            }
+
+            Method m = (Method)ao;
+            if(m.getParameterCount() != 1) {
+                String txt = (m.getParameterCount() == 0) ? msgs.getString("txt.no") : msgs.getString("txt.too_many");
+                throw new IllegalArgumentException(msgs.getString("msg.err.wrong_param_count").formatted(txt, m));
+            }
+
+            MethodHandle mh = toTargetHandle(lookup(m.getDeclaringClass()).unreflect(m), isStatic(m));
+            return mh.asType(mh.type().changeReturnType(void.class));
+        }
+        catch(IllegalAccessException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.no_access").formatted(ao), e);
+        }
+    }
+
+    /**
+     * Resolves the setter for a member found by the agent, see {@link InstrumentHook}, by it's name and descriptor rather than through reflection.
+     *
+     * @param owner      The class that declares the member.
+     * @param name       The name of the field or method.
+     * @param descriptor The type descriptor of the field or method.
+     * @param isField    {@code true} for a field.
+     * @param isStatic   {@code true} for a static member.
+     * @return A handle of the type {@code (Object target, T value)void}.
+     * @throws ReflectiveOperationException If the member cannot be found or accessed.
+     */
+    static @NotNull MethodHandle setterHandle(@NotNull Class<?> owner, @NotNull String name, @NotNull String descriptor, boolean isField, boolean isStatic) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = lookup(owner);
+
+        if(isField) {
+            Class<?>  type = MethodType.fromMethodDescriptorString("(%s)V".formatted(descriptor), owner.getClassLoader()).parameterType(0);
+            VarHandle vh   = (isStatic ? lookup.findStaticVarHandle(owner, name, type) : lookup.findVarHandle(owner, name, type));
+            return toTargetHandle(vh.toMethodHandle(VarHandle.AccessMode.SET), isStatic);
+        }
+
+        MethodType   type = MethodType.fromMethodDescriptorString(descriptor, owner.getClassLoader());
+        MethodHandle mh   = toTargetHandle((isStatic ? lookup.findStatic(owner, name, type) : lookup.findVirtual(owner, name, type)), isStatic);
+        return mh.asType(mh.type().changeReturnType(void.class));
+    }
+
+    private static boolean isStatic(@NotNull Member member) {
+        return Modifier.isStatic(member.getModifiers());
+    }
+
+    private static @NotNull MethodHandle toTargetHandle(@NotNull MethodHandle mh, boolean isStatic) {
+        if(isStatic) return MethodHandles.dropArguments(mh, 0, Object.class);
+        return mh.asType(mh.type().changeParameterType(0, Object.class));
+    }
+}
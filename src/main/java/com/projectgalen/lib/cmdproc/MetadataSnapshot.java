@@ -0,0 +1,326 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: MetadataSnapshot.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ResourceBundle;
+
+/**
+ * A compact binary description of the annotated members of a single class: the names, kinds, documentation and allowed values of the flags and parameters,
+ * how the "others" are delivered, and the name and descriptor of every member. When there is no binder generated by the annotation processor and the agent is
+ * not running, {@link ClassMetadata} looks for a snapshot before it scans the class with reflection. The members themselves are resolved the first time a
+ * value is bound to them, so members that are never used are never resolved.
+ * <p>
+ * Snapshots are looked for in two places:
+ * <ul>
+ *     <li>{@value #RESOURCE_DIR}{@code <class name>}{@value #SUFFIX} on the class path, written at build time with {@link #main(String...)}.</li>
+ *     <li>The directory named by the {@value #CACHE_DIR_PROPERTY} system property. When it is set, a snapshot is written there the first time a class is
+ *     scanned with reflection.</li>
+ * </ul>
+ * Every snapshot holds a SHA-256 hash of the class file it was made from and is ignored if the class has changed since. Records are never snapshotted and
+ * neither are classes with repeatable parameters, counted flags or {@link Lazy} values, as those are bound by the generic type of the member.
+ */
+public final class MetadataSnapshot {
+
+    /**
+     * The system property that names the directory that snapshots are cached in.
+     */
+    public static final String CACHE_DIR_PROPERTY = "com.projectgalen.lib.cmdproc.cacheDir";
+    /**
+     * Where snapshots are looked for on the class path.
+     */
+    public static final String RESOURCE_DIR       = "META-INF/pgcmdproc/";
+    /**
+     * The file name extension of snapshots.
+     */
+    public static final String SUFFIX             = ".pgcm";
+
+    private static final ResourceBundle msgs    = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final int            MAGIC   = 0x50474D44;
+    private static final int            VERSION = 2;
+
+    private MetadataSnapshot() { }
+
+    /**
+     * Writes snapshots at build time: {@code java -cp ... com.projectgalen.lib.cmdproc.MetadataSnapshot <output directory> <class name>...}. The snapshots are
+     * written to {@value #RESOURCE_DIR} in the output directory, usually the one that becomes the root of the application's jar.
+     */
+    public static void main(String... args) {
+        if(args.length < 2) {
+            System.err.println(msgs.getString("msg.usage.snapshot"));
+            System.exit(1);
+        }
+
+        try {
+            Path dir = Path.of(args[0]).resolve(RESOURCE_DIR);
+            for(int i = 1; i < args.length; i++) write(Class.forName(args[i], false, MetadataSnapshot.class.getClassLoader()), dir);
+        }
+        catch(Exception e) {
+            e.printStackTrace(System.err);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Scans the given class with reflection and writes a snapshot of it to the given directory.
+     *
+     * @param cls The class.
+     * @param dir The directory.
+     * @throws IOException If the class file cannot be read or the snapshot cannot be written.
+     * @throws IllegalArgumentException If the class is a record, has repeatable parameters, counted flags or lazy values, or has members that cannot be bound.
+     */
+    public static void write(@NotNull Class<?> cls, @NotNull Path dir) throws IOException {
+        if(cls.isRecord()) throw new IllegalArgumentException(msgs.getString("msg.err.snapshot_record").formatted(cls.getName()));
+
+        byte[] hash = hash(cls);
+        if(hash == null) throw new FileNotFoundException(classFileName(cls));
+
+        List<FPData> cmdLnData  = new ArrayList<>();
+        List<OData>  cmdLnOther = new ArrayList<>();
+        ClassMetadata.reflect(cls, true, cmdLnData, cmdLnOther);
+        write(cls, hash, cmdLnData, cmdLnOther, dir);
+    }
+
+    /**
+     * Writes a snapshot to the cache directory, if there is one, after the class was scanned with reflection. Any problem is ignored - the class will just be
+     * scanned again next time.
+     */
+    static void cache(@NotNull Class<?> cls, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        if((dir == null) || cls.isRecord() || (cls.getClassLoader() == null) || (cmdLnData.isEmpty() && cmdLnOther.isEmpty())) return;
+
+        try {
+            byte[] hash = hash(cls);
+            if(hash != null) write(cls, hash, cmdLnData, cmdLnOther, Path.of(dir));
+        }
+        catch(IOException | RuntimeException ignored) { }
+    }
+
+    /**
+     * Loads the flags, parameters and "others" of the class from a snapshot.
+     *
+     * @return {@code false} if there is no usable snapshot.
+     */
+    static boolean load(@NotNull Class<?> cls, boolean instance, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) {
+        if(cls.isRecord() || (cls.getClassLoader() == null)) return false;
+
+        try(InputStream in = open(cls)) {
+            return ((in != null) && read(cls, instance, new DataInputStream(new BufferedInputStream(in)), cmdLnData, cmdLnOther));
+        }
+        catch(IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static @NotNull String classFileName(@NotNull Class<?> cls) {
+        return (cls.getName().replace('.', '/') + ".class");
+    }
+
+    private static @NotNull String descriptor(@NotNull Member member) {
+        if(member instanceof Field f) return f.getType().descriptorString();
+        Method m = (Method)member;
+        return MethodType.methodType(m.getReturnType(), m.getParameterTypes()).toMethodDescriptorString();
+    }
+
+    private static byte @Nullable [] hash(@NotNull Class<?> cls) throws IOException {
+        ClassLoader loader = cls.getClassLoader();
+
+        try(InputStream in = ((loader == null) ? null : loader.getResourceAsStream(classFileName(cls)))) {
+            if(in == null) return null;
+            return MessageDigest.getInstance("SHA-256").digest(in.readAllBytes());
+        }
+        catch(NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static @Nullable InputStream open(@NotNull Class<?> cls) throws IOException {
+        InputStream in = cls.getClassLoader().getResourceAsStream(RESOURCE_DIR + cls.getName() + SUFFIX);
+        if(in != null) return in;
+
+        String dir = System.getProperty(CACHE_DIR_PROPERTY);
+        if(dir == null) return null;
+
+        Path file = Path.of(dir, cls.getName() + SUFFIX);
+        return (Files.isRegularFile(file) ? Files.newInputStream(file) : null);
+    }
+
+    private static boolean read(@NotNull Class<?> cls, boolean instance, @NotNull DataInputStream in, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther) throws IOException {
+        if((in.readInt() != MAGIC) || (in.readUnsignedShort() != VERSION)) return false;
+
+        byte[] hash = new byte[in.readUnsignedByte()];
+        in.readFully(hash);
+        if(!(cls.getName().equals(in.readUTF()) && Arrays.equals(hash, hash(cls)))) return false;
+
+        List<FPData> data   = new ArrayList<>();
+        List<OData>  others = new ArrayList<>();
+
+        for(int i = 0, count = in.readUnsignedShort(); i < count; i++) {
+            boolean  isFlag        = in.readBoolean();
+            boolean  required      = in.readBoolean();
+            String   longName      = in.readUTF();
+            int      shortName     = in.readInt();
+            String   documentation = in.readUTF();
+            String[] allowedValues = new String[in.readUnsignedShort()];
+            for(int j = 0; j < allowedValues.length; j++) allowedValues[j] = in.readUTF();
+
+            LazyMember member = LazyMember.read(cls, in);
+            if(!(member.isStatic || instance)) return false;
+            data.add(new FPData(isFlag, required, longName, shortName, documentation, allowedValues, member.memberName, member::setValue));
+        }
+
+        for(int i = 0, count = in.readUnsignedShort(); i < count; i++) {
+            OData.Delivery delivery = OData.Delivery.values()[in.readUnsignedByte()];
+            LazyMember     member   = LazyMember.read(cls, in);
+
+            if(!(member.isStatic || instance)) return false;
+            if(delivery.collects()) {
+                boolean isArray = (delivery == OData.Delivery.ARRAY);
+                others.add(new OData(member.memberName, isArray, (t, v) -> member.setValues(t, v, isArray)));
+            }
+            else others.add(new OData(member.memberName, delivery, member::receive));
+        }
+
+        cmdLnData.addAll(data);
+        cmdLnOther.addAll(others);
+        return true;
+    }
+
+    private static void write(@NotNull Class<?> cls, byte @NotNull [] hash, @NotNull List<FPData> cmdLnData, @NotNull List<OData> cmdLnOther, @NotNull Path dir) throws IOException {
+        if(cmdLnData.stream().anyMatch(fp -> fp.isRepeatable() || fp.isLazy())) throw new IllegalArgumentException(msgs.getString("msg.err.snapshot_generic").formatted(cls.getName()));
+        Files.createDirectories(dir);
+        Path file = dir.resolve(cls.getName() + SUFFIX);
+        Path temp = Files.createTempFile(dir, cls.getName(), ".tmp");
+
+        try {
+            try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                out.writeByte(hash.length);
+                out.write(hash);
+                out.writeUTF(cls.getName());
+
+                out.writeShort(cmdLnData.size());
+                for(FPData fp : cmdLnData) {
+                    out.writeBoolean(fp.isFlag);
+                    out.writeBoolean(fp.required);
+                    out.writeUTF(fp.longName);
+                    out.writeInt(fp.shortName);
+                    out.writeUTF(fp.documentation);
+                    out.writeShort(fp.allowedValues.length);
+                    for(String v : fp.allowedValues) out.writeUTF(v);
+                    writeMember(out, fp.accessibleObject, fp.memberName);
+                }
+
+                out.writeShort(cmdLnOther.size());
+                for(OData od : cmdLnOther) {
+                    out.writeByte(od.delivery.ordinal());
+                    writeMember(out, od.accessibleObject, od.memberName);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeMember(@NotNull DataOutputStream out, @Nullable AccessibleObject ao, @NotNull String memberName) throws IOException {
+        // Only members found with reflection can be written.
+        if(!(ao instanceof Member member)) throw new IllegalArgumentException(memberName);
+        out.writeBoolean(ao instanceof Field);
+        out.writeBoolean(Modifier.isStatic(member.getModifiers()));
+        out.writeUTF(member.getName());
+        out.writeUTF(descriptor(member));
+        out.writeUTF(memberName);
+    }
+
+    /**
+     * A member read from a snapshot. The handle for it is resolved, and the setter created, the first time a value is bound to it.
+     */
+    private static final class LazyMember {
+        private final Class<?> owner;
+        private final boolean  isField;
+        private final boolean  isStatic;
+        private final String   name;
+        private final String   descriptor;
+        private final String   memberName;
+
+        private volatile FPData.ValueSetter  valueSetter;
+        private volatile OData.ValuesSetter  valuesSetter;
+        private volatile OData.ValueReceiver receiver;
+
+        private LazyMember(@NotNull Class<?> owner, boolean isField, boolean isStatic, @NotNull String name, @NotNull String descriptor, @NotNull String memberName) {
+            this.owner      = owner;
+            this.isField    = isField;
+            this.isStatic   = isStatic;
+            this.name       = name;
+            this.descriptor = descriptor;
+            this.memberName = memberName;
+        }
+
+        void receive(@Nullable Object target, @NotNull Object value) {
+            OData.ValueReceiver r = receiver;
+            if(r == null) receiver = r = MemberBinding.forReceiver(resolve());
+            r.receive(target, value);
+        }
+
+        void setValue(@Nullable Object target, @NotNull String value) {
+            FPData.ValueSetter s = valueSetter;
+            if(s == null) valueSetter = s = MemberBinding.forValue(resolve());
+            s.setValue(target, value);
+        }
+
+        void setValues(@Nullable Object target, @NotNull List<String> values, boolean isArray) {
+            OData.ValuesSetter s = valuesSetter;
+            if(s == null) valuesSetter = s = MemberBinding.forValues(resolve(), isArray);
+            s.setValues(target, values);
+        }
+
+        private @NotNull MethodHandle resolve() {
+            try {
+                return MemberBinding.setterHandle(owner, name, descriptor, isField, isStatic);
+            }
+            catch(ReflectiveOperationException e) {
+                throw new IllegalStateException(msgs.getString("msg.err.no_access").formatted(memberName), e);
+            }
+        }
+
+        static @NotNull LazyMember read(@NotNull Class<?> owner, @NotNull DataInputStream in) throws IOException {
+            return new LazyMember(owner, in.readBoolean(), in.readBoolean(), in.readUTF(), in.readUTF(), in.readUTF());
+        }
+    }
+}
@@ -19,43 +19,120 @@ package com.projectgalen.lib.cmdproc;
 
 import com.projectgalen.lib.cmdproc.annotations.CmdOther;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-import java.util.ResourceBundle;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static java.util.Optional.ofNullable;
 
 public final class OData {
     private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
 
-    public final AccessibleObject accessibleObject;
-    public final boolean          isArray;
+    /** The field or method or {@code null} if the metadata was not found with reflection. See {@link FPData#getAccessibleObject()}. */
+    public final @Nullable AccessibleObject accessibleObject;
+    public final boolean                    isArray;
+    /** The name of the member. See {@link FPData#getMemberName()}. */
+    public final String                     memberName;
+    public final Delivery                   delivery;
+
+    private final @Nullable ValuesSetter  setter;
+    private final @Nullable ValueReceiver receiver;
 
     public OData(AccessibleObject accessibleObject, boolean isArray) {
+        this(accessibleObject, (isArray ? Delivery.ARRAY : Delivery.LIST));
+    }
+
+    public OData(@NotNull AccessibleObject accessibleObject, @NotNull Delivery delivery) {
         this.accessibleObject = accessibleObject;
+        this.isArray          = (delivery == Delivery.ARRAY);
+        this.memberName       = MemberBinding.memberName(accessibleObject);
+        this.delivery         = delivery;
+        this.setter           = (delivery.collects() ? MemberBinding.forValues(accessibleObject, isArray) : null);
+        this.receiver         = (delivery.collects() ? null : MemberBinding.forReceiver(accessibleObject));
+    }
+
+    /**
+     * Used by the classes generated by the annotation processor.
+     */
+    public OData(@NotNull String memberName, boolean isArray, @NotNull ValuesSetter setter) {
+        this.accessibleObject = null;
         this.isArray          = isArray;
+        this.memberName       = memberName;
+        this.delivery         = (isArray ? Delivery.ARRAY : Delivery.LIST);
+        this.setter           = setter;
+        this.receiver         = null;
+    }
+
+    /**
+     * Used by the classes generated by the annotation processor for {@link Delivery#CONSUMER}, {@link Delivery#ITERATOR} and {@link Delivery#STREAM}.
+     */
+    public OData(@NotNull String memberName, @NotNull Delivery delivery, @NotNull ValueReceiver receiver) {
+        this.accessibleObject = null;
+        this.isArray          = false;
+        this.memberName       = memberName;
+        this.delivery         = delivery;
+        this.setter           = null;
+        this.receiver         = receiver;
+    }
+
+    /**
+     * Hands a single argument to a {@link Delivery#CONSUMER} as soon as it is found.
+     *
+     * @param target The object being bound to - ignored for static members.
+     * @param value  The argument.
+     */
+    public void addValue(@Nullable Object target, @NotNull String value) {
+        Objects.requireNonNull(receiver).receive(target, value);
     }
 
     public @Override boolean equals(Object object) {
-        return ((this == object) || ((object instanceof OData d) && (isArray == d.isArray) && Objects.equals(accessibleObject, d.accessibleObject)));
+        return ((this == object) || ((object instanceof OData d) && (delivery == d.delivery) && Objects.equals(memberName, d.memberName)));
     }
 
     public @Override int hashCode() {
-        return Objects.hash(accessibleObject, isArray);
+        return Objects.hash(memberName, delivery);
+    }
+
+    /**
+     * Hands the remaining arguments to an {@link Delivery#ITERATOR} or {@link Delivery#STREAM}. Nothing is read from the iterator until the member does.
+     *
+     * @param target The object being bound to - ignored for static members.
+     * @param others The arguments that were not flags or parameters.
+     */
+    public void setIterator(@Nullable Object target, @NotNull Iterator<String> others) {
+        switch(delivery) {/*@f0*/
+            case ITERATOR -> Objects.requireNonNull(receiver).receive(target, others);
+            case STREAM   -> Objects.requireNonNull(receiver).receive(target, StreamSupport.stream(Spliterators.spliteratorUnknownSize(others, Spliterator.ORDERED | Spliterator.NONNULL), false));
+            case CONSUMER -> others.forEachRemaining(v -> addValue(target, v));
+            default       -> setValues(target, collect(others));
+        }/*@f1*/
     }
 
     public void setValues(@NotNull List<String> others) {
-        // TODO: implement
+        setValues(null, others);
+    }
+
+    /**
+     * @param target The object being bound to - ignored for static members.
+     * @param others The arguments that were not flags or parameters.
+     */
+    public void setValues(@Nullable Object target, @NotNull List<String> others) {
+        if(setter == null) setIterator(target, others.iterator());
+        else setter.setValues(target, others);
     }
 
     public static void processOther(@NotNull List<OData> cmdLnOther, @NotNull Method m) {
+        processOther(cmdLnOther, m, false);
+    }
+
+    public static void processOther(@NotNull List<OData> cmdLnOther, @NotNull Method m, boolean allowInstance) {
         if(m.isAnnotationPresent(CmdOther.class)) {
             if(m.getParameterCount() == 1) {
                 Parameter param = m.getParameters()[0];
-                process(cmdLnOther, m, param.getType(), param.getParameterizedType(), msgs.getString("txt.method"));
+                process(cmdLnOther, m, param.getType(), param.getParameterizedType(), msgs.getString("txt.method"), allowInstance);
             }
             else {
                 String txt = (m.getParameterCount() == 0) ? msgs.getString("txt.no") : msgs.getString("txt.too_many");
@@ -65,13 +142,23 @@ public final class OData {
     }
 
     public static void processOther(@NotNull List<OData> cmdLnOther, @NotNull AccessibleObject f, @NotNull Class<?> type, @NotNull Type genericType, @NotNull String aoType) {
-        if(f.isAnnotationPresent(CmdOther.class)) process(cmdLnOther, f, type, genericType, aoType);
+        processOther(cmdLnOther, f, type, genericType, aoType, false);
+    }
+
+    public static void processOther(@NotNull List<OData> cmdLnOther, @NotNull AccessibleObject f, @NotNull Class<?> type, @NotNull Type genericType, @NotNull String aoType, boolean allowInstance) {
+        if(f.isAnnotationPresent(CmdOther.class)) process(cmdLnOther, f, type, genericType, aoType, allowInstance);
     }
 
     private static boolean canTakeArrayList(@NotNull Class<?> cls) {
         return cls.isAssignableFrom(ArrayList.class);
     }
 
+    private static @NotNull List<String> collect(@NotNull Iterator<String> others) {
+        List<String> list = new ArrayList<>();
+        others.forEachRemaining(list::add);
+        return list;
+    }
+
     private static boolean isArrayListOfString(Class<?> cls, Type genericType) {
         return (canTakeArrayList(cls) && isStringParameterizedType(genericType));
     }
@@ -88,6 +175,10 @@ public final class OData {
         return ((a.length == 1) && ((a[0] instanceof WildcardType w) ? isWildCardString(w.getLowerBounds(), w.getUpperBounds()) : (a[0] == String.class)));
     }
 
+    private static boolean isOfString(@NotNull Class<?> cls, @NotNull Type genericType, @NotNull Class<?> expected) {
+        return ((cls == expected) && isStringParameterizedType(genericType));
+    }
+
     private static boolean isStringParameterizedType(@NotNull Type genericType) {
         return ((genericType instanceof ParameterizedType parameterizedType) && isGenTypeString(parameterizedType.getActualTypeArguments()));
     }
@@ -96,16 +187,85 @@ public final class OData {
         return ofNullable((lowerBounds.length == 1) ? lowerBounds[0] : null).map(c -> (c == String.class)).orElseGet(() -> isBoundsString(upperBounds));
     }
 
-    private static void process(@NotNull List<OData> cmdLnOther, @NotNull AccessibleObject f, @NotNull Class<?> type, @NotNull Type genericType, @NotNull String aoType) {
-        FPData.validate(f, msgs.getString("txt.other"), aoType);
+    private static void process(@NotNull List<OData> cmdLnOther, @NotNull AccessibleObject f, @NotNull Class<?> type, @NotNull Type genericType, @NotNull String aoType, boolean allowInstance) {
+        FPData.validate(f, msgs.getString("txt.other"), aoType, allowInstance);
         if(isArrayOfString(type)) {
             cmdLnOther.add(new OData(f, true));
         }
         else if(isArrayListOfString(type, genericType)) {
             cmdLnOther.add(new OData(f, false));
         }
+        else if(isOfString(type, genericType, Iterator.class)) {
+            cmdLnOther.add(new OData(f, Delivery.ITERATOR));
+        }
+        else if(isOfString(type, genericType, Stream.class)) {
+            cmdLnOther.add(new OData(f, Delivery.STREAM));
+        }
+        else if((f instanceof Method) && (type == String.class)) {
+            cmdLnOther.add(new OData(f, Delivery.CONSUMER));
+        }
         else {
             throw new IllegalArgumentException(msgs.getString("msg.err.other_bad_type").formatted(aoType, f));
         }
     }
+
+    /**
+     * How the arguments that are not flags or parameters are handed to an {@link CmdOther} member.
+     */
+    public enum Delivery {
+        /**
+         * A {@code String[]} with all of the arguments, set once the parse is done.
+         */
+        ARRAY,
+        /**
+         * A {@code List<String>} with all of the arguments, set once the parse is done.
+         */
+        LIST,
+        /**
+         * A method that takes a single {@code String} and is called for each argument as soon as it is found.
+         */
+        CONSUMER,
+        /**
+         * An {@code Iterator<String>} that reads the arguments as it is iterated. Once the first argument is found the rest are not parsed for flags or
+         * parameters.
+         */
+        ITERATOR,
+        /**
+         * A {@code Stream<String>} that reads the arguments as it is consumed. Once the first argument is found the rest are not parsed for flags or
+         * parameters.
+         */
+        STREAM;
+
+        /**
+         * Returns {@code true} if the arguments are collected into a {@code String[]} or {@code List<String>}.
+         */
+        public boolean collects() {
+            return ((this == ARRAY) || (this == LIST));
+        }
+
+        /**
+         * Returns {@code true} if the arguments are read lazily, after the parse has returned.
+         */
+        public boolean isLazy() {
+            return ((this == ITERATOR) || (this == STREAM));
+        }
+    }
+
+    @FunctionalInterface
+    public interface ValueReceiver {
+        /**
+         * @param target The object being bound to - {@code null} for static members.
+         * @param value  A single argument for a {@link Delivery#CONSUMER} or the {@link Iterator} or {@link Stream} of arguments.
+         */
+        void receive(@Nullable Object target, @NotNull Object value);
+    }
+
+    @FunctionalInterface
+    public interface ValuesSetter {
+        /**
+         * @param target The object being bound to - {@code null} for static members.
+         * @param values The arguments that were not flags or parameters.
+         */
+        void setValues(@Nullable Object target, @NotNull List<String> values);
+    }
 }
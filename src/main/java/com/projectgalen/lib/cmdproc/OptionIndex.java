@@ -0,0 +1,320 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: OptionIndex.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.StringJoiner;
+
+/**
+ * An immutable lookup table for the flags and parameters of a {@link CmdLnInfo}. Long names are kept in an open addressed hash table and short names in a
+ * dense array for ASCII characters with a sorted array for everything else. Every option is identified by it's ordinal - it's position in
+ * {@link CmdLnInfo#cmdLnData()}. The table is built in one pass that also finds every name defined more than once.
+ * <p>
+ * Abbreviated long names, suggestions, and completions use a second table of the long names in sorted order. It is only built the first time a long name
+ * isn't found in the hash table, so a command-line that only uses whole names never pays for it.
+ */
+final class OptionIndex {
+
+    private static final ResourceBundle msgs       = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final int            ASCII_SIZE = 128;
+    private static final int            MAX_HINTS  = 3;
+
+    /**
+     * Returned by {@link #findPrefix(CharSequence, int, int)} when more than one long name starts with the prefix.
+     */
+    static final int AMBIGUOUS = -2;
+
+    private final String[] longKeys;
+    private final int[]    longOrdinals;
+    private final int      longMask;
+    private final int[]    asciiOrdinals = new int[ASCII_SIZE];
+    private final int[]    otherKeys;
+    private final int[]    otherOrdinals;
+    private volatile Sorted sorted;
+
+    OptionIndex(@NotNull List<FPData> cmdLnData) {
+        StringJoiner errors = new StringJoiner("\n");
+        int          size   = Integer.highestOneBit(Math.max(2, cmdLnData.size()) * 2 - 1) << 1;
+        int[]        oKeys  = new int[cmdLnData.size()];
+        int[]        oOrds  = new int[cmdLnData.size()];
+        int          oCount = 0;
+
+        longKeys     = new String[size];
+        longOrdinals = new int[size];
+        longMask     = (size - 1);
+        Arrays.fill(asciiOrdinals, -1);
+
+        for(int i = 0; i < cmdLnData.size(); i++) {
+            FPData fp = cmdLnData.get(i);
+
+            if(fp.hasLongName()) {
+                int slot = longSlot(fp.getLongName());
+                if(longKeys[slot] == null) {
+                    longKeys[slot]     = fp.getLongName();
+                    longOrdinals[slot] = i;
+                }
+                else {
+                    errors.add(conflict("--%s".formatted(fp.getLongName()), cmdLnData.get(longOrdinals[slot]), fp));
+                }
+            }
+
+            if(fp.hasShortName()) {
+                int ch = fp.getShortName();
+                int ex = ((ch >= 0) && (ch < ASCII_SIZE)) ? asciiOrdinals[ch] : indexOf(oKeys, oCount, ch, oOrds);
+
+                if(ex >= 0) errors.add(conflict("-%s".formatted(fp.getShortNameStr()), cmdLnData.get(ex), fp));
+                else if((ch >= 0) && (ch < ASCII_SIZE)) asciiOrdinals[ch] = i;
+                else {
+                    oKeys[oCount]   = ch;
+                    oOrds[oCount++] = i;
+                }
+            }
+        }
+
+        if(errors.length() > 0) throw new IllegalArgumentException(errors.toString());
+
+        otherKeys     = Arrays.copyOf(oKeys, oCount);
+        otherOrdinals = Arrays.copyOf(oOrds, oCount);
+        sortOthers();
+    }
+
+    /**
+     * Returns the ordinal of the flag or parameter with the given long name or -1 if there isn't one.
+     */
+    int findLong(@NotNull String name) {
+        int slot = longSlot(name);
+        return ((longKeys[slot] == null) ? -1 : longOrdinals[slot]);
+    }
+
+    /**
+     * Returns the ordinal of the flag or parameter whose long name is the given region of a character sequence or -1 if there isn't one. The hash is computed
+     * the same way as {@link String#hashCode()} so no substring has to be created.
+     */
+    int findLong(@NotNull CharSequence cs, int start, int end) {
+        int hash = 0;
+        for(int i = start; i < end; i++) hash = (31 * hash + cs.charAt(i));
+
+        for(int slot = (hash & longMask); longKeys[slot] != null; slot = ((slot + 1) & longMask)) {
+            if(ArgTokenizer.regionEquals(longKeys[slot], cs, start, end)) return longOrdinals[slot];
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the ordinal of the flag or parameter with the given short name or -1 if there isn't one.
+     */
+    int findShort(int ch) {
+        if((ch >= 0) && (ch < ASCII_SIZE)) return asciiOrdinals[ch];
+        int i = Arrays.binarySearch(otherKeys, ch);
+        return ((i < 0) ? -1 : otherOrdinals[i]);
+    }
+
+    /**
+     * Returns the ordinal of the only flag or parameter whose long name starts with the given region of a character sequence, -1 if there isn't one, or
+     * {@link #AMBIGUOUS} if there is more than one. Whole names should be looked for with {@link #findLong(CharSequence, int, int)} first.
+     */
+    int findPrefix(@NotNull CharSequence cs, int start, int end) {
+        Sorted s = sorted();
+        int    i = s.lowerBound(cs, start, end);
+
+        if((i == s.names.length) || !s.startsWith(i, cs, start, end)) return -1;
+        if(((i + 1) < s.names.length) && s.startsWith(i + 1, cs, start, end)) return AMBIGUOUS;
+        return s.ordinals[i];
+    }
+
+    /**
+     * Returns the long names that start with the given prefix in sorted order.
+     */
+    @NotNull List<String> startingWith(@NotNull String prefix) {
+        Sorted s  = sorted();
+        int    lo = s.lowerBound(prefix, 0, prefix.length());
+        int    hi = lo;
+
+        while((hi < s.names.length) && s.startsWith(hi, prefix, 0, prefix.length())) ++hi;
+        return List.of(Arrays.copyOfRange(s.names, lo, hi));
+    }
+
+    /**
+     * Returns up to three long names that are close to the given name, closest first. Two names are close if one can be turned into the other by inserting,
+     * deleting, replacing, or swapping no more than about a third of their characters.
+     */
+    @NotNull List<String> similarTo(@NotNull String name) {
+        return similar(name, sorted().names);
+    }
+
+    private @NotNull Sorted sorted() {
+        Sorted s = sorted;
+        if(s == null) sorted = s = new Sorted(longKeys, longOrdinals);
+        return s;
+    }
+
+    private int longSlot(@NotNull String name) {
+        int slot = (name.hashCode() & longMask);
+        while((longKeys[slot] != null) && !longKeys[slot].equals(name)) slot = ((slot + 1) & longMask);
+        return slot;
+    }
+
+    private void sortOthers() {
+        // Simple insertion sort - there are rarely more than a handful of non-ASCII short names.
+        for(int i = 1; i < otherKeys.length; i++) {
+            int k = otherKeys[i];
+            int o = otherOrdinals[i];
+            int j = i - 1;
+
+            while((j >= 0) && (otherKeys[j] > k)) {
+                otherKeys[j + 1]     = otherKeys[j];
+                otherOrdinals[j + 1] = otherOrdinals[j--];
+            }
+
+            otherKeys[j + 1]     = k;
+            otherOrdinals[j + 1] = o;
+        }
+    }
+
+    /**
+     * Returns up to three of the given names that are close to the given name, closest first, keeping the order of the names for ties.
+     *
+     * @see #similarTo(String)
+     */
+    static @NotNull List<String> similar(@NotNull String name, String @NotNull [] names) {
+        int      limit = Math.max(1, Math.min(3, name.length() / 3));
+        String[] hints = new String[MAX_HINTS];
+        int[]    dists = new int[MAX_HINTS];
+        int      count = 0;
+
+        for(String candidate : names) {
+            if(Math.abs(candidate.length() - name.length()) > limit) continue;
+            int d = distance(name, candidate, limit);
+            if(d > limit) continue;
+
+            // Keep the closest few in order. A later name only replaces an earlier one if it is closer so ties keep their order.
+            int j = Math.min(count, MAX_HINTS - 1);
+            if((count == MAX_HINTS) && (dists[j] <= d)) continue;
+            while((j > 0) && (dists[j - 1] > d)) {
+                hints[j] = hints[j - 1];
+                dists[j] = dists[j - 1];
+                --j;
+            }
+            hints[j] = candidate;
+            dists[j] = d;
+            if(count < MAX_HINTS) ++count;
+        }
+
+        return List.of(Arrays.copyOf(hints, count));
+    }
+
+    private static @NotNull String conflict(@NotNull String name, @NotNull FPData first, @NotNull FPData second) {
+        if(first.isFlag() != second.isFlag()) return msgs.getString("msg.err.switch_and_value").formatted(name);
+        return msgs.getString("msg.err.duplicate_name").formatted(name, first.getMemberName(), second.getMemberName());
+    }
+
+    /**
+     * The optimal string alignment distance between two strings. Gives up and returns {@code limit + 1} as soon as a whole row is over the limit.
+     */
+    private static int distance(@NotNull String a, @NotNull String b, int limit) {
+        int[] prev2 = new int[b.length() + 1];
+        int[] prev  = new int[b.length() + 1];
+        int[] curr  = new int[b.length() + 1];
+
+        for(int j = 0; j <= b.length(); j++) prev[j] = j;
+
+        for(int i = 1; i <= a.length(); i++) {
+            int rowMin = (curr[0] = i);
+
+            for(int j = 1; j <= b.length(); j++) {
+                int cost = ((a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1);
+                int d    = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+
+                if((i > 1) && (j > 1) && (a.charAt(i - 1) == b.charAt(j - 2)) && (a.charAt(i - 2) == b.charAt(j - 1))) d = Math.min(d, prev2[j - 2] + 1);
+                rowMin  = Math.min(rowMin, d);
+                curr[j] = d;
+            }
+
+            if(rowMin > limit) return (limit + 1);
+            int[] t = prev2;
+            prev2 = prev;
+            prev  = curr;
+            curr  = t;
+        }
+
+        return prev[b.length()];
+    }
+
+    private static int indexOf(int @NotNull [] keys, int count, int key, int @NotNull [] ordinals) {
+        for(int i = 0; i < count; i++) if(keys[i] == key) return ordinals[i];
+        return -1;
+    }
+
+    /**
+     * The long names in sorted order with their ordinals.
+     */
+    private static final class Sorted {
+        final String[] names;
+        final int[]    ordinals;
+
+        Sorted(String @NotNull [] keys, int @NotNull [] keyOrdinals) {
+            Integer[] slots = new Integer[keys.length];
+            int       count = 0;
+
+            for(int i = 0; i < keys.length; i++) if(keys[i] != null) slots[count++] = i;
+            Arrays.sort(slots, 0, count, (x, y) -> keys[x].compareTo(keys[y]));
+
+            names    = new String[count];
+            ordinals = new int[count];
+            for(int i = 0; i < count; i++) {
+                names[i]    = keys[slots[i]];
+                ordinals[i] = keyOrdinals[slots[i]];
+            }
+        }
+
+        /**
+         * Returns the index of the first name that is not less than the given region of a character sequence.
+         */
+        int lowerBound(@NotNull CharSequence cs, int start, int end) {
+            int lo = 0;
+            int hi = names.length;
+
+            while(lo < hi) {
+                int mid = ((lo + hi) >>> 1);
+                if(compare(names[mid], cs, start, end) < 0) lo = (mid + 1);
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        boolean startsWith(int i, @NotNull CharSequence cs, int start, int end) {
+            String name = names[i];
+            if(name.length() < (end - start)) return false;
+            for(int j = start; j < end; j++) if(name.charAt(j - start) != cs.charAt(j)) return false;
+            return true;
+        }
+
+        private static int compare(@NotNull String name, @NotNull CharSequence cs, int start, int end) {
+            int len = Math.min(name.length(), (end - start));
+            for(int i = 0; i < len; i++) {
+                int d = (name.charAt(i) - cs.charAt(start + i));
+                if(d != 0) return d;
+            }
+            return (name.length() - (end - start));
+        }
+    }
+}
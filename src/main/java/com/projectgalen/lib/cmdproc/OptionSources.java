@@ -0,0 +1,244 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: OptionSources.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+/**
+ * Where the values of flags and parameters come from when they are not given on the command-line. The sources are looked at in this order and the first one
+ * that has a value wins:
+ * <ol>
+ *     <li>The command-line.</li>
+ *     <li>The system property {@code <property prefix><long name>}, for example {@code mytool.max-count}.</li>
+ *     <li>The environment variable {@code <environment prefix><LONG_NAME>} where the long name is upper cased and every character that is not a letter or a
+ *     digit is replaced with an underscore, for example {@code MYTOOL_MAX_COUNT}.</li>
+ *     <li>The key {@code <long name>} in each of the config files, in the order they were given.</li>
+ * </ol>
+ * Only flags and parameters that have a long name are looked for. A config file is read the first time a value is looked for in it, so it is never read if
+ * everything was given on the command-line, and it is read only once no matter how many parses share the {@link OptionSources}. A config file that does not
+ * exist has no values.
+ * <p>
+ * Config files are made of {@code key = value} or {@code key: value} lines in the style of properties or TOML files:
+ * <ul>
+ *     <li>Blank lines and lines starting with {@code #} or {@code ;} are ignored.</li>
+ *     <li>A {@code [section]} line puts {@code section.} in front of the keys that follow it.</li>
+ *     <li>A value in double quotes can use the escapes {@code \n}, {@code \t}, {@code \r}, {@code \"} and {@code \\}. A value in single quotes is taken as is.</li>
+ *     <li>A {@code #} that follows white space ends an unquoted value.</li>
+ * </ul>
+ * Config files are expected to be UTF-8.
+ */
+public final class OptionSources {
+
+    /**
+     * No sources other than the command-line.
+     */
+    public static final OptionSources NONE = new OptionSources(null, null);
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private final String              propertyPrefix;
+    private final String              envPrefix;
+    private final List<ConfigFile>    configFiles;
+    private final Map<String, String> environment;
+
+    /**
+     * @param propertyPrefix The prefix of the system properties or {@code null} if system properties are not used.
+     * @param envPrefix      The prefix of the environment variables or {@code null} if environment variables are not used.
+     * @param configFiles    The config files.
+     */
+    public OptionSources(@Nullable String propertyPrefix, @Nullable String envPrefix, Path @NotNull ... configFiles) {
+        this(propertyPrefix, envPrefix, Arrays.stream(configFiles).map(ConfigFile::new).toList(), null);
+    }
+
+    private OptionSources(@Nullable String propertyPrefix, @Nullable String envPrefix, @NotNull List<ConfigFile> configFiles, @Nullable Map<String, String> environment) {
+        this.propertyPrefix = propertyPrefix;
+        this.envPrefix      = envPrefix;
+        this.configFiles    = configFiles;
+        this.environment    = environment;
+    }
+
+    /**
+     * Returns {@code true} if there are no sources other than the command-line.
+     */
+    public boolean isEmpty() {
+        return ((propertyPrefix == null) && (envPrefix == null) && configFiles.isEmpty());
+    }
+
+    /**
+     * Returns sources that read environment variables from the given map instead of the environment of this process, such as the environment of a client of a
+     * command server. The config files are shared with this object, so they are still only read once.
+     *
+     * @param environment The environment variables.
+     * @return The new sources.
+     */
+    public @NotNull OptionSources withEnvironment(@NotNull Map<String, String> environment) {
+        return new OptionSources(propertyPrefix, envPrefix, configFiles, Map.copyOf(environment));
+    }
+
+    /**
+     * Returns the value of the given flag or parameter from the first source that has one.
+     *
+     * @param fp The flag or parameter.
+     * @return The value or {@code null} if none of the sources have one.
+     * @throws IllegalArgumentException If a config file cannot be read.
+     */
+    public @Nullable String lookup(@NotNull FPData fp) {
+        if(!fp.hasLongName()) return null;
+
+        String name  = fp.getLongName();
+        String value = ((propertyPrefix == null) ? null : System.getProperty(propertyPrefix + name));
+
+        if((value == null) && (envPrefix != null)) value = ((environment == null) ? System.getenv(envName(envPrefix, name)) : environment.get(envName(envPrefix, name)));
+        for(int i = 0; (value == null) && (i < configFiles.size()); i++) value = configFiles.get(i).values().get(name);
+        return value;
+    }
+
+    /**
+     * Returns the name of the environment variable for the given long name.
+     *
+     * @param envPrefix The prefix of the environment variables.
+     * @param longName  The long name.
+     * @return The name of the environment variable.
+     */
+    public static @NotNull String envName(@NotNull String envPrefix, @NotNull String longName) {
+        StringBuilder sb = new StringBuilder(envPrefix.length() + longName.length()).append(envPrefix);
+        for(int i = 0; i < longName.length(); i++) {
+            char ch = longName.charAt(i);
+            sb.append(Character.isLetterOrDigit(ch) ? Character.toUpperCase(ch) : '_');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A config file that is read into an immutable map the first time it is needed.
+     */
+    private static final class ConfigFile {
+        private final    Path                path;
+        private volatile Map<String, String> values;
+
+        ConfigFile(@NotNull Path path) {
+            this.path = path;
+        }
+
+        @NotNull Map<String, String> values() {
+            Map<String, String> v = values;
+            if(v == null) {
+                synchronized(this) {
+                    if((v = values) == null) values = v = read();
+                }
+            }
+            return v;
+        }
+
+        private @NotNull Map<String, String> read() {
+            Map<String, String> map     = new HashMap<>();
+            String              section = "";
+            int                 lineNo  = 0;
+
+            try(BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    ++lineNo;
+                    line = line.strip();
+                    if(line.isEmpty() || (line.charAt(0) == '#') || (line.charAt(0) == ';')) continue;
+
+                    if((line.charAt(0) == '[') && line.endsWith("]")) {
+                        String name = line.substring(1, line.length() - 1).strip();
+                        section = (name.isEmpty() ? "" : (name + "."));
+                        continue;
+                    }
+
+                    int sep = separator(line);
+                    if(sep <= 0) throw new IllegalArgumentException(msgs.getString("msg.err.config_syntax").formatted(path, lineNo));
+                    map.put(section + unquote(line.substring(0, sep).strip(), lineNo), value(line.substring(sep + 1).strip(), lineNo));
+                }
+            }
+            catch(NoSuchFileException e) {
+                return Map.of();
+            }
+            catch(IOException e) {
+                throw new IllegalArgumentException(msgs.getString("msg.err.config").formatted(path, e.getMessage()), e);
+            }
+
+            return Map.copyOf(map);
+        }
+
+        private @NotNull String unquote(@NotNull String key, int lineNo) {
+            return (((key.length() > 1) && ((key.charAt(0) == '"') || (key.charAt(0) == '\''))) ? value(key, lineNo) : key);
+        }
+
+        private @NotNull String value(@NotNull String text, int lineNo) {
+            if(text.isEmpty()) return text;
+
+            char quote = text.charAt(0);
+            if(quote == '\'') {
+                int end = text.indexOf('\'', 1);
+                if(end < 0) throw new IllegalArgumentException(msgs.getString("msg.err.config_syntax").formatted(path, lineNo));
+                return text.substring(1, end);
+            }
+            if(quote == '"') {
+                StringBuilder sb = new StringBuilder(text.length());
+                for(int i = 1; i < text.length(); i++) {
+                    char ch = text.charAt(i);
+                    if(ch == '"') return sb.toString();
+                    if((ch == '\\') && ((i + 1) < text.length())) {
+                        ch = text.charAt(++i);
+                        ch = switch(ch) {/*@f0*/
+                            case 'n' -> '\n';
+                            case 't' -> '\t';
+                            case 'r' -> '\r';
+                            default  -> ch;
+                        };/*@f1*/
+                    }
+                    sb.append(ch);
+                }
+                throw new IllegalArgumentException(msgs.getString("msg.err.config_syntax").formatted(path, lineNo));
+            }
+
+            // An unquoted value runs to the end of the line or to a comment.
+            for(int i = 1; i < text.length(); i++) {
+                if((text.charAt(i) == '#') && Character.isWhitespace(text.charAt(i - 1))) return text.substring(0, i).stripTrailing();
+            }
+            return text;
+        }
+
+        private static int separator(@NotNull String line) {
+            boolean quoted = ((line.charAt(0) == '"') || (line.charAt(0) == '\''));
+            int     start  = (quoted ? line.indexOf(line.charAt(0), 1) + 1 : 0);
+            if(quoted && (start == 0)) return -1;
+
+            for(int i = start; i < line.length(); i++) {
+                char ch = line.charAt(i);
+                if((ch == '=') || (ch == ':')) return i;
+            }
+            return -1;
+        }
+    }
+}
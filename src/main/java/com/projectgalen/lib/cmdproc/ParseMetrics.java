@@ -0,0 +1,88 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ParseMetrics.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Receives counts and timings from the phases of building and running a parser so that they can be passed on to an application's own metrics system. Install
+ * an implementation with {@link #install(ParseMetrics)}. All of the methods have empty default implementations so only the ones that are of interest need to
+ * be overridden. While no implementation is installed the clock is not read at all.
+ * <p>
+ * The methods are called on the thread that does the work and should return quickly. The same information is also recorded as Java Flight Recorder events in
+ * the "Project Galen / Command-Line" category, whether or not an implementation is installed.
+ */
+public interface ParseMetrics {
+
+    /**
+     * Installed when there is nothing else.
+     */
+    ParseMetrics NONE = new ParseMetrics() { };
+
+    /**
+     * Called after a value was converted and bound to it's member.
+     *
+     * @param switchName The switch - {@code --long} or {@code -s}.
+     * @param failed     {@code true} if the value could not be converted.
+     * @param nanos      The time it took.
+     */
+    default void converted(@NotNull String switchName, boolean failed, long nanos) { }
+
+    /**
+     * Called after {@link CmdProc#processCommandLine()} is done.
+     *
+     * @param argCount    The number of arguments that were read.
+     * @param optionCount The number of flags and parameters that were set.
+     * @param nanos       The time it took.
+     */
+    default void parsed(int argCount, int optionCount, long nanos) { }
+
+    /**
+     * Called after the annotated classes for a {@link CmdLnInfo} were scanned.
+     *
+     * @param classCount  The number of classes, including superclasses.
+     * @param optionCount The number of flags, parameters and "others" that were found.
+     * @param nanos       The time it took.
+     */
+    default void scanned(int classCount, int optionCount, long nanos) { }
+
+    /**
+     * Called after the flags and parameters of a {@link CmdLnInfo} were checked for duplicate names and indexed.
+     *
+     * @param optionCount The number of flags and parameters.
+     * @param nanos       The time it took.
+     */
+    default void validated(int optionCount, long nanos) { }
+
+    /**
+     * Installs the given implementation, replacing the current one.
+     *
+     * @param metrics The implementation or {@code null} to stop collecting metrics.
+     */
+    static void install(@Nullable ParseMetrics metrics) {
+        Telemetry.metrics = ((metrics == null) ? NONE : metrics);
+    }
+
+    /**
+     * Returns the installed implementation or {@link #NONE}.
+     */
+    static @NotNull ParseMetrics installed() {
+        return Telemetry.metrics;
+    }
+}
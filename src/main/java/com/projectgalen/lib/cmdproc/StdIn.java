@@ -0,0 +1,242 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: StdIn.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.function.Consumer;
+
+/**
+ * STDIN, or any other input, read through a {@link ReadableByteChannel} into a large direct {@link ByteBuffer} and split into lines or records right there.
+ * The bytes are not copied into a {@link BufferedReader} and every line is not turned into a {@link String} first - a record is handed to the consumer as a
+ * view of the buffer and a line of ASCII text as a {@link CharSequence} over the same bytes. The delimiters are searched for eight bytes at a time.
+ * <p>
+ * The records and lines are only valid until the consumer returns, since the buffer is refilled after that. A consumer that keeps one has to copy it - with
+ * {@link Object#toString()} for a line. A record that does not fit in the buffer makes the buffer grow. An instance is not thread-safe and the input can only
+ * be read once.
+ *
+ * @see CmdProc#getStdIn()
+ */
+public final class StdIn implements Closeable {
+
+    /**
+     * The size of the buffer unless another is given.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = (1 << 20);
+
+    private static final ResourceBundle msgs  = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final long           ONES  = 0x0101010101010101L;
+    private static final long           HIGHS = 0x8080808080808080L;
+
+    private static StdIn system;
+
+    private final ReadableByteChannel channel;
+    private       ByteBuffer          buffer;
+    private       boolean             used = false;
+
+    /**
+     * @param channel    The input.
+     * @param bufferSize The initial size of the buffer.
+     */
+    public StdIn(@NotNull ReadableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer  = ByteBuffer.allocateDirect(Math.max(16, bufferSize)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the channel the input is read from. Reading from it directly takes the bytes away from this object.
+     */
+    public @NotNull ReadableByteChannel channel() {
+        return channel;
+    }
+
+    public @Override void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Hands the records to the consumer in batches of up to the given number. A batch holds the records that are in the buffer at the same time - so it can
+     * be smaller - and the records in it are separate views of the buffer that stay valid until the consumer returns.
+     *
+     * @param delimiter  The byte that ends a record. The delimiters are not part of the records.
+     * @param maxRecords The most records in a batch.
+     * @param consumer   Receives the batches.
+     * @return The number of records.
+     * @throws IOException If the input cannot be read.
+     */
+    public long forEachBatch(byte delimiter, int maxRecords, @NotNull Consumer<? super List<ByteBuffer>> consumer) throws IOException {
+        List<ByteBuffer> batch = new ArrayList<>(Math.max(1, maxRecords));
+
+        return split(delimiter, new Sink() {
+            public @Override void record(@NotNull ByteBuffer buffer, int start, int end) {
+                batch.add(buffer.slice(start, (end - start)));
+                if(batch.size() >= maxRecords) flush();
+            }
+
+            public @Override void flush() {
+                if(batch.isEmpty()) return;
+                consumer.accept(batch);
+                batch.clear();
+            }
+        });
+    }
+
+    /**
+     * Hands each line, without it's line terminator, to the consumer. Lines end with {@code \n} or {@code \r\n}. They are UTF-8 and a line that is all ASCII is
+     * not decoded at all.
+     *
+     * @param consumer Receives the lines. A line is only valid until the consumer returns.
+     * @return The number of lines.
+     * @throws IOException If the input cannot be read.
+     */
+    public long forEachLine(@NotNull Consumer<? super CharSequence> consumer) throws IOException {
+        return forEachRecord((byte)'\n', record -> {
+            int end = record.limit();
+            if((end > record.position()) && (record.get(end - 1) == '\r')) record.limit(end - 1);
+            consumer.accept(LineTokenizer.decode(record));
+        });
+    }
+
+    /**
+     * Hands each record to the consumer. The record is the remaining bytes of a view of the buffer - the same view every time - and the consumer may move
+     * it's position and limit as it likes.
+     *
+     * @param delimiter The byte that ends a record. The delimiters are not part of the records and the last record does not need one.
+     * @param consumer  Receives the records. A record is only valid until the consumer returns.
+     * @return The number of records.
+     * @throws IOException If the input cannot be read.
+     */
+    public long forEachRecord(byte delimiter, @NotNull Consumer<? super ByteBuffer> consumer) throws IOException {
+        return split(delimiter, new Sink() {
+            private ByteBuffer source;
+            private ByteBuffer view;
+
+            public @Override void record(@NotNull ByteBuffer buffer, int start, int end) {
+                if(source != buffer) view = (source = buffer).duplicate();
+                view.limit(end).position(start);
+                consumer.accept(view);
+            }
+        });
+    }
+
+    /**
+     * Finds the next delimiter in the bytes from {@code from} to {@code to}, eight at a time.
+     *
+     * @return The index of the delimiter or -1 if there isn't one.
+     */
+    private int find(byte delimiter, int from, int to) {
+        long pattern = ((delimiter & 0xFFL) * ONES);
+        int  i       = from;
+
+        for(int last = (to - Long.BYTES); i <= last; i += Long.BYTES) {
+            long word  = (buffer.getLong(i) ^ pattern);
+            long zeros = ((word - ONES) & ~word & HIGHS);
+            // The lowest byte that is flagged is always a match - a false one can only come after a true one.
+            if(zeros != 0) return (i + (Long.numberOfTrailingZeros(zeros) >>> 3));
+        }
+        for(; i < to; i++) if(buffer.get(i) == delimiter) return i;
+        return -1;
+    }
+
+    /**
+     * Reads the input to the end, handing the records to the sink. The sink is flushed before the bytes in the buffer are moved or replaced.
+     */
+    private long split(byte delimiter, @NotNull Sink sink) throws IOException {
+        if(used) throw new IllegalStateException(msgs.getString("msg.err.stdin_used"));
+        used = true;
+
+        long    count = 0;
+        int     start = 0;
+        int     scan  = 0;
+        boolean eof   = false;
+
+        buffer.clear();
+        while(true) {
+            int filled = buffer.position();
+
+            for(int i = find(delimiter, scan, filled); i >= 0; i = find(delimiter, start, filled)) {
+                sink.record(buffer, start, i);
+                start = (i + 1);
+                ++count;
+            }
+            scan = filled;
+
+            if(eof) {
+                if(start < filled) {
+                    sink.record(buffer, start, filled);
+                    ++count;
+                }
+                sink.flush();
+                return count;
+            }
+
+            if(!buffer.hasRemaining()) {
+                sink.flush();
+                if(start == 0) {
+                    // A single record fills the whole buffer...
+                    buffer = ByteBuffer.allocateDirect(buffer.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN).put(buffer.flip());
+                }
+                else {
+                    buffer.limit(filled).position(start);
+                    buffer.compact();
+                    scan -= start;
+                    start = 0;
+                }
+            }
+
+            eof = (channel.read(buffer) < 0);
+        }
+    }
+
+    /**
+     * Returns the process's STDIN. It is opened the first time it is asked for and the same object is returned after that.
+     *
+     * @return STDIN.
+     */
+    public static synchronized @NotNull StdIn system() {
+        if(system == null) system = new StdIn(new FileInputStream(FileDescriptor.in).getChannel(), DEFAULT_BUFFER_SIZE);
+        return system;
+    }
+
+    /**
+     * Reads from an ordinary stream, such as the STDIN of a client of a {@link com.projectgalen.lib.cmdproc.server.CommandServer}.
+     *
+     * @param in The stream.
+     * @return The input.
+     */
+    public static @NotNull StdIn of(@NotNull InputStream in) {
+        return new StdIn(Channels.newChannel(in), DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Receives the records found in the buffer.
+     */
+    private interface Sink {
+        void record(@NotNull ByteBuffer buffer, int start, int end);
+
+        default void flush() { }
+    }
+}
@@ -0,0 +1,250 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Subcommands.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Git style subcommands. The global options come first and are parsed with the global classes, then the first argument that is not a flag or parameter names
+ * the subcommand and the rest of the arguments are parsed with the subcommand's classes:
+ * <pre>
+ *     Subcommands commands = new Subcommands(false, Global.class).add("commit", "com.example.Commit").add("push", "com.example.Push");
+ *     Subcommands.Invocation run = commands.processCommandLine(args);
+ * </pre>
+ * Subcommands are registered by class name or with a {@link Supplier} so that only the classes of the subcommand that is actually run are ever loaded and
+ * scanned. The global classes cannot have {@link com.projectgalen.lib.cmdproc.annotations.CmdOther CmdOther} members - the arguments after the global
+ * options belong to the subcommand. A {@link Subcommands} can be used for any number of parses, from different threads, once all of the subcommands are
+ * added.
+ */
+public final class Subcommands {
+
+    private static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private final Map<String, Command> commands = new TreeMap<>();
+    private final Class<?>[]           globalClasses;
+    private final boolean              allowStdInRedirection;
+    private final boolean              expandArgFiles;
+    private final boolean              exitOnError;
+    private volatile CmdLnInfo         globalInfo;
+
+    public Subcommands(boolean allowStdInRedirection, Class<?> @NotNull ... globalClasses) {
+        this(allowStdInRedirection, false, globalClasses);
+    }
+
+    /**
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param globalClasses         The annotated classes of the global options.
+     */
+    public Subcommands(boolean allowStdInRedirection, boolean expandArgFiles, Class<?> @NotNull ... globalClasses) {
+        this(allowStdInRedirection, expandArgFiles, true, globalClasses);
+    }
+
+    /**
+     * @param allowStdInRedirection {@code true} if the {@code -} switch is allowed.
+     * @param expandArgFiles        {@code true} if arguments of the form {@code @file} are replaced by the arguments read from the file.
+     * @param exitOnError           {@code false} if problems with the command-line, including a missing or unknown subcommand, are thrown as a
+     *                              {@link CmdLnException} instead of ending the process.
+     * @param globalClasses         The annotated classes of the global options.
+     * @see CmdProc#setExitOnError(boolean)
+     */
+    public Subcommands(boolean allowStdInRedirection, boolean expandArgFiles, boolean exitOnError, Class<?> @NotNull ... globalClasses) {
+        this.globalClasses         = globalClasses.clone();
+        this.allowStdInRedirection = allowStdInRedirection;
+        this.expandArgFiles        = expandArgFiles;
+        this.exitOnError           = exitOnError;
+    }
+
+    /**
+     * Adds a subcommand whose values are bound to the static members of the named classes. The classes are loaded, with the thread's context class loader,
+     * the first time the subcommand is run.
+     *
+     * @param name       The name of the subcommand.
+     * @param classNames The names of the annotated classes.
+     * @return This object.
+     */
+    public @NotNull Subcommands add(@NotNull String name, String @NotNull ... classNames) {
+        String[] names = classNames.clone();
+        return register(name, () -> CmdLnInfo.findAnnotatedMembers(load(names)));
+    }
+
+    /**
+     * Adds a subcommand whose values are bound to the static members of a class. The supplier is only called the first time the subcommand is run.
+     *
+     * @param name     The name of the subcommand.
+     * @param supplier Supplies the annotated class.
+     * @return This object.
+     */
+    public @NotNull Subcommands add(@NotNull String name, @NotNull Supplier<Class<?>> supplier) {
+        return register(name, () -> CmdLnInfo.findAnnotatedMembers(new Class<?>[] { supplier.get() }));
+    }
+
+    /**
+     * Adds a subcommand whose values are bound to a new instance of the named type on every run, as with {@link CmdLnInfo#forType(Class)}.
+     *
+     * @param name      The name of the subcommand.
+     * @param className The name of the type.
+     * @return This object.
+     */
+    public @NotNull Subcommands addType(@NotNull String name, @NotNull String className) {
+        return register(name, () -> CmdLnInfo.forType(load(new String[] { className })[0]));
+    }
+
+    /**
+     * Adds a subcommand whose values are bound to a new instance of a type on every run, as with {@link CmdLnInfo#forType(Class)}. The supplier is only called
+     * the first time the subcommand is run.
+     *
+     * @param name     The name of the subcommand.
+     * @param supplier Supplies the type.
+     * @return This object.
+     */
+    public @NotNull Subcommands addType(@NotNull String name, @NotNull Supplier<Class<?>> supplier) {
+        return register(name, () -> CmdLnInfo.forType(supplier.get()));
+    }
+
+    /**
+     * Returns the names of the subcommands in sorted order.
+     */
+    public @NotNull Iterable<String> getNames() {
+        return commands.keySet();
+    }
+
+    /**
+     * Parses the global options and then the options of the subcommand named by the first argument that follows them. If there is no subcommand, or it is not
+     * one of the ones that were added, the help page is printed and the process terminates unless the parsers do not exit on errors. When they do not exit and
+     * the help switch was given with no subcommand, or an unknown one, the {@link Invocation} has no subcommand so that the caller can show the help page.
+     *
+     * @param args The command-line arguments.
+     * @return The subcommand that was run along with the parsers that hold the results.
+     * @throws CmdLnException If there were problems with the command-line and the parsers do not exit on errors.
+     */
+    public @NotNull Invocation processCommandLine(String @NotNull ... args) {
+        CmdProc global   = new CmdProc(new ArgSource(args, expandArgFiles), allowStdInRedirection, globalInfo(), true, commandsHelp()).setExitOnError(exitOnError);
+        boolean redirect = global.processCommandLine();
+        String  name     = global.takeFirstOther();
+
+        Command command = ((name == null) ? null : commands.get(name));
+
+        if((command == null) && global.isHelpRequested()) return new Invocation(null, global, null, redirect);
+        if(name == null) return fail(global, CmdLnError.Kind.MISSING_SUBCOMMAND, msgs.getString("msg.err.no_subcommand"));
+        if(command == null) {
+            String[] names = commands.keySet().toArray(String[]::new);
+            String   hints = String.join(", ", OptionIndex.similar(name, names));
+            return fail(global, CmdLnError.Kind.UNKNOWN_SUBCOMMAND, msgs.getString(hints.isEmpty() ? "msg.err.unknown_subcommand" : "msg.err.unknown_subcommand_hint").formatted(name, hints));
+        }
+
+        CmdProc proc = new CmdProc(global.source(), allowStdInRedirection, command.info(), false, null).setExitOnError(exitOnError);
+        redirect |= proc.processCommandLine();
+        return new Invocation(name, global, proc, redirect);
+    }
+
+    private @NotNull String commandsHelp() {
+        StringJoiner j = new StringJoiner(System.lineSeparator(), System.lineSeparator(), System.lineSeparator());
+        j.add(msgs.getString("help.title.commands"));
+        for(String name : commands.keySet()) j.add("  " + name);
+        return j.toString();
+    }
+
+    /**
+     * Prints the message and the help page to STDERR and then terminates the process unless the parsers do not exit on errors, in which case the problem is
+     * thrown instead. <B>THERE IS NO RETURNING FROM THIS METHOD.</B>
+     */
+    private @NotNull Invocation fail(@NotNull CmdProc global, @NotNull CmdLnError.Kind kind, @NotNull String msg) {
+        if(exitOnError) {
+            System.err.println(msg);
+            global.displayHelp();
+            System.exit(1);
+        }
+        throw new CmdLnException(List.of(new CmdLnError(kind, null, msg)));
+    }
+
+    private @NotNull CmdLnInfo globalInfo() {
+        CmdLnInfo info = globalInfo;
+        if(info == null) {
+            info = CmdLnInfo.findAnnotatedMembers(globalClasses);
+            if(!info.cmdLnOther().isEmpty()) throw new IllegalArgumentException(msgs.getString("msg.err.global_other").formatted(info.cmdLnOther().get(0).memberName));
+            globalInfo = info;
+        }
+        return info;
+    }
+
+    private @NotNull Subcommands register(@NotNull String name, @NotNull Supplier<CmdLnInfo> supplier) {
+        if(commands.putIfAbsent(name, new Command(supplier)) != null) throw new IllegalArgumentException(msgs.getString("msg.err.duplicate_subcommand").formatted(name));
+        return this;
+    }
+
+    private static Class<?> @NotNull [] load(String @NotNull [] classNames) {
+        ClassLoader loader  = Thread.currentThread().getContextClassLoader();
+        Class<?>[]  classes = new Class<?>[classNames.length];
+
+        try {
+            for(int i = 0; i < classNames.length; i++) classes[i] = Class.forName(classNames[i], true, ((loader == null) ? Subcommands.class.getClassLoader() : loader));
+            return classes;
+        }
+        catch(ClassNotFoundException e) {
+            throw new IllegalArgumentException(msgs.getString("msg.err.no_class").formatted(e.getMessage()), e);
+        }
+    }
+
+    /**
+     * The subcommand that was run.
+     *
+     * @param name          The name of the subcommand or {@code null} if the help switch was given without one.
+     * @param global        The parser of the global options.
+     * @param command       The parser of the subcommand's options or {@code null} if the help switch was given without a subcommand.
+     *                      {@link CmdProc#getResult()} returns the instance that was bound when the subcommand was added with {@link #addType(String, String)}.
+     * @param redirectStdIn {@code true} if the {@code -} switch was given.
+     */
+    public record Invocation(@Nullable String name, @NotNull CmdProc global, @Nullable CmdProc command, boolean redirectStdIn) {
+        /**
+         * Returns STDIN for fast reading of lines and records if the {@code -} switch was given.
+         *
+         * @return STDIN or {@code null} if it was not redirected.
+         * @see CmdProc#getStdIn()
+         */
+        public @Nullable StdIn stdIn() {
+            return (redirectStdIn ? StdIn.system() : null);
+        }
+    }
+
+    /**
+     * A subcommand whose {@link CmdLnInfo} is built the first time it is run.
+     */
+    private static final class Command {
+        private final    Supplier<CmdLnInfo> supplier;
+        private volatile CmdLnInfo           info;
+
+        Command(@NotNull Supplier<CmdLnInfo> supplier) {
+            this.supplier = supplier;
+        }
+
+        @NotNull CmdLnInfo info() {
+            CmdLnInfo i = info;
+            if(i == null) info = i = supplier.get();
+            return i;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Telemetry.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The Java Flight Recorder events and the installed {@link ParseMetrics}. The events follow the usual pattern: they are created and begun unconditionally,
+ * which the JIT reduces to nothing while the event is not enabled, and the fields are only filled in when {@link Event#shouldCommit()} says so. The clock is
+ * only read for the metrics when something other than {@link ParseMetrics#NONE} is installed.
+ */
+final class Telemetry {
+
+    static volatile ParseMetrics metrics = ParseMetrics.NONE;
+
+    private Telemetry() { }
+
+    /**
+     * Returns the current time if metrics are being collected, otherwise {@code 0}. The value is handed back to one of the other methods when the work is done.
+     */
+    static long start() {
+        return ((metrics == ParseMetrics.NONE) ? 0 : System.nanoTime());
+    }
+
+    static void converted(long start, @NotNull ConversionEvent event, @NotNull FPData fp, boolean failed) {
+        if(event.shouldCommit()) {
+            event.switchName = fp.getSwitchName();
+            event.memberName = fp.getMemberName();
+            event.failed     = failed;
+            event.commit();
+        }
+        if(start != 0) metrics.converted(fp.getSwitchName(), failed, (System.nanoTime() - start));
+    }
+
+    static void parsed(long start, @NotNull ParseEvent event, int argCount, int optionCount) {
+        if(event.shouldCommit()) {
+            event.argCount    = argCount;
+            event.optionCount = optionCount;
+            event.commit();
+        }
+        if(start != 0) metrics.parsed(argCount, optionCount, (System.nanoTime() - start));
+    }
+
+    static void scanned(long start, @NotNull ScanEvent event, int classCount, int optionCount) {
+        if(event.shouldCommit()) {
+            event.classCount  = classCount;
+            event.optionCount = optionCount;
+            event.commit();
+        }
+        if(start != 0) metrics.scanned(classCount, optionCount, (System.nanoTime() - start));
+    }
+
+    static void validated(long start, @NotNull ValidateEvent event, int optionCount) {
+        if(event.shouldCommit()) {
+            event.optionCount = optionCount;
+            event.commit();
+        }
+        if(start != 0) metrics.validated(optionCount, (System.nanoTime() - start));
+    }
+
+    @Name("com.projectgalen.cmdproc.Conversion")
+    @Label("Command-Line Value Conversion")
+    @Description("A command-line value was converted and bound to it's member.")
+    @Category({ "Project Galen", "Command-Line" })
+    @StackTrace(false)
+    static final class ConversionEvent extends Event {
+        @Label("Switch") String  switchName;
+        @Label("Member") String  memberName;
+        @Label("Failed") boolean failed;
+    }
+
+    @Name("com.projectgalen.cmdproc.Parse")
+    @Label("Command-Line Parse")
+    @Description("The command-line arguments were parsed.")
+    @Category({ "Project Galen", "Command-Line" })
+    @StackTrace(false)
+    static final class ParseEvent extends Event {
+        @Label("Arguments")   int argCount;
+        @Label("Options Set") int optionCount;
+    }
+
+    @Name("com.projectgalen.cmdproc.Scan")
+    @Label("Command-Line Class Scan")
+    @Description("The annotated members of the command-line classes were found.")
+    @Category({ "Project Galen", "Command-Line" })
+    @StackTrace(false)
+    static final class ScanEvent extends Event {
+        @Label("Classes") int classCount;
+        @Label("Options") int optionCount;
+    }
+
+    @Name("com.projectgalen.cmdproc.Validate")
+    @Label("Command-Line Validation")
+    @Description("The flags and parameters were checked for duplicate names and indexed.")
+    @Category({ "Project Galen", "Command-Line" })
+    @StackTrace(false)
+    static final class ValidateEvent extends Event {
+        @Label("Options") int optionCount;
+    }
+}
@@ -0,0 +1,264 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ValueBuffer.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Collects the values of a repeatable parameter, or counts the occurrences of a flag, during a single parse. The values are stored in the member once the
+ * whole command-line has been read. Parameters of the types {@code int[]}, {@code long[]} and {@code double[]} are parsed into growable arrays of the
+ * primitive type so that even tens of thousands of values are never boxed.
+ * <p>
+ * A parameter is repeatable when it's member is an array or a {@link List} - or any type that an {@link ArrayList} can be assigned to - of a type that there
+ * is a converter for, unless a converter was registered for the member type itself. A flag counts how often it was given when it's member is an {@code int}
+ * or a {@code long}. Giving a counted flag as false, {@code -v-}, sets the count back to zero.
+ */
+abstract class ValueBuffer {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Adds a value from the command-line.
+     *
+     * @throws RuntimeException If the value cannot be converted.
+     */
+    abstract void add(@NotNull String value);
+
+    /**
+     * Returns the value to be stored in the member.
+     */
+    abstract @NotNull Object toValue();
+
+    /**
+     * Creates the binding for the given member if it is a repeatable parameter or a counted flag.
+     *
+     * @param ao        The field or method.
+     * @param isFlag    {@code true} if the member is a flag.
+     * @param separator The separator that a single value is split at or an empty string.
+     * @return The binding or {@code null} if the member takes a single value.
+     */
+    static @Nullable Binding bind(@NotNull AccessibleObject ao, boolean isFlag, @NotNull String separator) {
+        Class<?> type;
+        Type     generic;
+
+        if(ao instanceof Field f) {
+            type    = f.getType();
+            generic = f.getGenericType();
+        }
+        else {
+            Method m = (Method)ao;
+            // The wrong number of parameters is reported when the setter is created.
+            if(m.getParameterCount() != 1) return null;
+            type    = m.getParameterTypes()[0];
+            generic = m.getGenericParameterTypes()[0];
+        }
+
+        Supplier<ValueBuffer> supplier = (isFlag ? counter(type) : collector(type, generic));
+        return ((supplier == null) ? null : new Binding(supplier, MemberBinding.forReceiver(ao), separator));
+    }
+
+    /**
+     * Returns {@code true} if a member of the given type would be bound by a {@link ValueBuffer} - without looking at the type arguments of a {@link List}.
+     * Used to leave such members to reflection when they are found some other way.
+     */
+    static boolean isRepeatable(@NotNull Class<?> type, boolean isFlag) {
+        if(isFlag) return (counter(type) != null);
+        return (!Converters.has(type) && (type.isArray() || ((type != Object.class) && type.isAssignableFrom(ArrayList.class))));
+    }
+
+    /**
+     * Splits a value at the separator. Empty pieces are dropped.
+     *
+     * @param value     The value.
+     * @param separator The separator or an empty string if the value is not split.
+     * @return The pieces.
+     */
+    static @NotNull List<String> split(@NotNull String value, @NotNull String separator) {
+        if(separator.isEmpty()) return List.of(value);
+
+        List<String> pieces = new ArrayList<>();
+        for(int i = 0, j; i <= value.length(); i = (j + separator.length())) {
+            j = value.indexOf(separator, i);
+            if(j < 0) j = value.length();
+            if(j > i) pieces.add(value.substring(i, j));
+        }
+        return pieces;
+    }
+
+    private static @Nullable Supplier<ValueBuffer> collector(@NotNull Class<?> type, @NotNull Type generic) {
+        if(!isRepeatable(type, false)) return null;
+
+        if(type.isArray()) {
+            Class<?> component = type.getComponentType();
+            if((component == int.class) && Converters.isBuiltIn(component, Converters.INT)) return IntBuffer::new;
+            if((component == long.class) && Converters.isBuiltIn(component, Converters.LONG)) return LongBuffer::new;
+            if((component == double.class) && Converters.isBuiltIn(component, Converters.DOUBLE)) return DoubleBuffer::new;
+            if(!Converters.has(component)) return null;
+
+            ValueConverter<?> converter = Converters.get(component);
+            return () -> new ObjectBuffer(converter, component);
+        }
+
+        Class<?> element = elementType(generic);
+        if((element == null) || !Converters.has(element)) return null;
+
+        ValueConverter<?> converter = Converters.get(element);
+        return () -> new ObjectBuffer(converter, null);
+    }
+
+    private static @Nullable Supplier<ValueBuffer> counter(@NotNull Class<?> type) {
+        if((type == int.class) || (type == Integer.class)) return () -> new Counter(false);
+        if((type == long.class) || (type == Long.class)) return () -> new Counter(true);
+        return null;
+    }
+
+    /**
+     * Returns the type of the elements of a list - {@link String} for a raw list - or {@code null} if it cannot be known.
+     */
+    private static @Nullable Class<?> elementType(@NotNull Type generic) {
+        if(!(generic instanceof ParameterizedType pt)) return String.class;
+
+        Type arg = pt.getActualTypeArguments()[0];
+        if((arg instanceof WildcardType wt) && (wt.getLowerBounds().length == 0)) arg = wt.getUpperBounds()[0];
+        return ((arg instanceof Class<?> cls) ? cls : null);
+    }
+
+    /**
+     * How the values of a single member are collected and stored. Resolved once when the {@link CmdLnInfo} is built.
+     *
+     * @param supplier  Creates the buffer for a parse.
+     * @param store     Stores the collected value in the member.
+     * @param separator The separator that a single value is split at or an empty string.
+     */
+    record Binding(@NotNull Supplier<ValueBuffer> supplier, @NotNull OData.ValueReceiver store, @NotNull String separator) {
+        @NotNull ValueBuffer newBuffer() {
+            return supplier.get();
+        }
+
+        /**
+         * Returns a setter that stores the given value on it's own, for when a value is set outside of a parse.
+         */
+        @NotNull FPData.ValueSetter setter() {
+            return (t, v) -> {
+                ValueBuffer buffer = newBuffer();
+                for(String piece : split(v, separator)) buffer.add(piece);
+                store(t, buffer);
+            };
+        }
+
+        void store(@Nullable Object target, @NotNull ValueBuffer buffer) {
+            store.receive(target, buffer.toValue());
+        }
+    }
+
+    private static final class IntBuffer extends ValueBuffer {
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int   size   = 0;
+
+        @Override void add(@NotNull String value) {
+            int v = Integer.parseInt(value);
+            if(size == values.length) values = Arrays.copyOf(values, (size * 2));
+            values[size++] = v;
+        }
+
+        @Override @NotNull Object toValue() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class LongBuffer extends ValueBuffer {
+        private long[] values = new long[INITIAL_CAPACITY];
+        private int    size   = 0;
+
+        @Override void add(@NotNull String value) {
+            long v = Long.parseLong(value);
+            if(size == values.length) values = Arrays.copyOf(values, (size * 2));
+            values[size++] = v;
+        }
+
+        @Override @NotNull Object toValue() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class DoubleBuffer extends ValueBuffer {
+        private double[] values = new double[INITIAL_CAPACITY];
+        private int      size   = 0;
+
+        @Override void add(@NotNull String value) {
+            double v = Double.parseDouble(value);
+            if(size == values.length) values = Arrays.copyOf(values, (size * 2));
+            values[size++] = v;
+        }
+
+        @Override @NotNull Object toValue() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * Collects converted values into a list, or into an array of the given component type.
+     */
+    private static final class ObjectBuffer extends ValueBuffer {
+        private final ValueConverter<?> converter;
+        private final Class<?>          component;
+        private final List<Object>      values = new ArrayList<>();
+
+        private ObjectBuffer(@NotNull ValueConverter<?> converter, @Nullable Class<?> component) {
+            this.converter = converter;
+            this.component = component;
+        }
+
+        @Override void add(@NotNull String value) {
+            values.add(converter.convert(value));
+        }
+
+        @Override @NotNull Object toValue() {
+            if(component == null) return values;
+            if(!component.isPrimitive()) return values.toArray((Object[])Array.newInstance(component, values.size()));
+
+            Object array = Array.newInstance(component, values.size());
+            for(int i = 0; i < values.size(); i++) Array.set(array, i, values.get(i));
+            return array;
+        }
+    }
+
+    private static final class Counter extends ValueBuffer {
+        private final boolean isLong;
+        private       long    count = 0;
+
+        private Counter(boolean isLong) {
+            this.isLong = isLong;
+        }
+
+        @Override void add(@NotNull String value) {
+            count = (Boolean.parseBoolean(value) ? (count + 1) : 0);
+        }
+
+        @Override @NotNull Object toValue() {
+            return (isLong ? (Object)count : (Object)(int)count);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.projectgalen.lib.cmdproc.annotations;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdConflicts.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import java.lang.annotation.*;
+
+/**
+ * Declares flags and parameters that cannot be given together - no more than one of them may be set by a single parse. The switches are named the way they
+ * are written on the command-line, {@code --name} or {@code -n}, and a name without dashes is taken to be a long name. They do not have to be declared by the
+ * annotated class itself, only by one of the classes the {@link com.projectgalen.lib.cmdproc.CmdLnInfo} is built from.
+ * <pre>
+ *     &#64;CmdConflicts({ "--json", "--csv", "--table" })
+ *     public class Report { ... }
+ * </pre>
+ *
+ * @see CmdRequires
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(CmdConflicts.List.class)
+public @interface CmdConflicts {
+    String[] value();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface List {
+        CmdConflicts[] value();
+    }
+}
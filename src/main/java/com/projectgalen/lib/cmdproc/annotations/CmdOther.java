@@ -22,6 +22,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Marks the field or method that receives the arguments that are not flags or parameters. The member can be a {@code String[]} or a {@code List<String>},
+ * which are set once the parse is done, a method that takes a single {@code String}, which is called for each argument as soon as it is found, or an
+ * {@code Iterator<String>} or {@code Stream<String>}, which read the arguments lazily. When there is an iterator or a stream the first argument that is not a
+ * flag or parameter ends the parse and every argument after it is passed along as is.
+ *
+ * @see com.projectgalen.lib.cmdproc.OData.Delivery
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD, ElementType.FIELD})
 public @interface CmdOther { }
@@ -34,4 +34,9 @@ public @interface CmdParam {
     String[] allowedValues() default {};
 
     String documentation() default "";
+
+    /**
+     * Splits each value of a repeatable parameter - an array or a list - into several at this string, as in {@code --ids=1,2,3}. Not split by default.
+     */
+    String separator() default "";
 }
@@ -0,0 +1,43 @@
+package com.projectgalen.lib.cmdproc.annotations;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdRequires.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import java.lang.annotation.*;
+
+/**
+ * Declares that a flag or parameter can only be given together with others. When the option is set by a parse every one of the switches it requires has to
+ * be set as well. The switches are named the same way as for {@link CmdConflicts}.
+ * <pre>
+ *     &#64;CmdRequires(option = "--output", requires = "--format")
+ *     public class Report { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Repeatable(CmdRequires.List.class)
+public @interface CmdRequires {
+    String option();
+
+    String[] requires();
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface List {
+        CmdRequires[] value();
+    }
+}
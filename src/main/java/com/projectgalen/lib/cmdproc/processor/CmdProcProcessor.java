@@ -0,0 +1,498 @@
+package com.projectgalen.lib.cmdproc.processor;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdProcProcessor.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CmdLnBinder;
+import com.projectgalen.lib.cmdproc.OData;
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdOther;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Generates a {@link CmdLnBinder} for every class that declares {@link CmdFlag}, {@link CmdParam} or {@link CmdOther} members. The generated class assigns the
+ * values directly to the annotated fields and methods so that {@link com.projectgalen.lib.cmdproc.CmdLnInfo} does not have to find them through reflection at
+ * runtime. The same validation that is done at runtime is done here and reported as compile time errors.
+ * <p>
+ * Classes that have members which the generated code cannot reach (private members or private classes) or whose types it cannot convert to are reported with
+ * a warning and are left to be found using reflection at runtime.
+ */
+public final class CmdProcProcessor extends AbstractProcessor {
+
+    private static final ResourceBundle msgs        = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+    private static final String         TXT_METHOD  = msgs.getString("txt.method");
+    private static final String         TXT_FIELD   = msgs.getString("txt.field");
+    private static final String         TXT_FLAG    = msgs.getString("txt.cap.flag");
+    private static final String         TXT_PARAM   = msgs.getString("txt.cap.param");
+    private static final String         TXT_OTHER   = msgs.getString("txt.other");
+    private static final String         PKG_CMDPROC = "com.projectgalen.lib.cmdproc";
+    private static final String         TAB         = "    ";
+
+    private static final Map<String, String> BOXED_CONVERSIONS = Map.of("java.lang.Boolean", "java.lang.Boolean.valueOf(v)",
+                                                                        "java.lang.Byte", "java.lang.Byte.valueOf(v)",
+                                                                        "java.lang.Short", "java.lang.Short.valueOf(v)",
+                                                                        "java.lang.Integer", "java.lang.Integer.valueOf(v)",
+                                                                        "java.lang.Long", "java.lang.Long.valueOf(v)",
+                                                                        "java.lang.Float", "java.lang.Float.valueOf(v)",
+                                                                        "java.lang.Double", "java.lang.Double.valueOf(v)",
+                                                                        "java.lang.String", "v");
+
+    private int errorCount = 0;
+
+    public CmdProcProcessor() { }
+
+    public @Override Set<String> getSupportedAnnotationTypes() {
+        return Set.of(CmdFlag.class.getName(), CmdParam.class.getName(), CmdOther.class.getName());
+    }
+
+    public @Override SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    public @Override boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+
+        for(TypeElement annotation : annotations) {
+            for(Element e : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if(e.getEnclosingElement() instanceof TypeElement te) types.add(te);
+            }
+        }
+
+        for(TypeElement type : types) processType(type);
+        return false;
+    }
+
+    /**
+     * Returns the expression that converts the value directly, as the built in converter would, unless a converter was registered in it's place at runtime.
+     */
+    private @NotNull String builtInOrReplacement(@NotNull String classLiteral, @NotNull String typeName, @NotNull String builtIn, @NotNull List<String> locals) {
+        String name = "c%d".formatted(locals.size());
+        locals.add("%s.ValueConverter<%s> %s = %1$s.Converters.getReplacement(%s.class);".formatted(PKG_CMDPROC, typeName, name, classLiteral));
+        return "((%s == null) ? %s : %1$s.convert(v))".formatted(name, builtIn);
+    }
+
+    private boolean canReach(@NotNull TypeElement type) {
+        for(Element e = type; e instanceof TypeElement te; e = e.getEnclosingElement()) {
+            if(e.getModifiers().contains(Modifier.PRIVATE)) return false;
+            if((te.getNestingKind() != NestingKind.TOP_LEVEL) && (te.getNestingKind() != NestingKind.MEMBER)) return false;
+        }
+        return true;
+    }
+
+    private boolean canName(@NotNull TypeElement type, @NotNull PackageElement from) {
+        if(!canReach(type)) return false;
+        for(Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            if(!e.getModifiers().contains(Modifier.PUBLIC) && !elementUtils().getPackageOf(e).equals(from)) return false;
+        }
+        return true;
+    }
+
+    private void checkConflicts(@NotNull TypeElement type) {
+        Map<String, Element> switches  = new HashMap<>();
+        Set<String>          conflicts = new LinkedHashSet<>();
+
+        for(TypeElement te = type; te != null; te = (TypeElement)typeUtils().asElement(te.getSuperclass())) {
+            for(Element e : members(te)) {
+                CmdFlag  cf = e.getAnnotation(CmdFlag.class);
+                CmdParam cp = e.getAnnotation(CmdParam.class);
+
+                if((cf == null) == (cp == null)) continue;
+
+                boolean isFlag    = (cf != null);
+                String  longName  = (isFlag ? cf.longName() : cp.longName()).trim();
+                int     shortName = (isFlag ? cf.shortName() : cp.shortName());
+
+                if(!longName.isEmpty()) checkSwitch(type, "--%s".formatted(longName), e, switches, conflicts);
+                if(shortName != 0) checkSwitch(type, "-%s".formatted(Character.toString(shortName)), e, switches, conflicts);
+            }
+        }
+
+        String tmp = msgs.getString("msg.err.switch_and_value");
+        for(String conflict : conflicts) error(type, tmp.formatted(conflict));
+    }
+
+    /**
+     * Reports a switch that is used by two members. Two flags or two value parameters are reported right away. A flag and a value parameter are collected
+     * into {@code conflicts} and reported once per switch.
+     */
+    private void checkSwitch(@NotNull TypeElement type, @NotNull String name, @NotNull Element e, @NotNull Map<String, Element> switches, @NotNull Set<String> conflicts) {
+        Element first = switches.putIfAbsent(name, e);
+        if(first == null) return;
+        if((first.getAnnotation(CmdFlag.class) == null) != (e.getAnnotation(CmdFlag.class) == null)) conflicts.add(name);
+        else error(type, msgs.getString("msg.err.duplicate_name").formatted(name, memberName(first), memberName(e)));
+    }
+
+    private @Nullable String conversion(@NotNull TypeElement owner, @NotNull TypeMirror type, @NotNull List<String> locals) {
+        return switch(type.getKind()) {/*@f0*/
+            case BOOLEAN -> builtInOrReplacement("boolean", "java.lang.Boolean", "java.lang.Boolean.parseBoolean(v)", locals);
+            case BYTE    -> builtInOrReplacement("byte", "java.lang.Byte", "java.lang.Byte.parseByte(v)", locals);
+            case SHORT   -> builtInOrReplacement("short", "java.lang.Short", "java.lang.Short.parseShort(v)", locals);
+            case INT     -> builtInOrReplacement("int", "java.lang.Integer", "java.lang.Integer.parseInt(v)", locals);
+            case LONG    -> builtInOrReplacement("long", "java.lang.Long", "java.lang.Long.parseLong(v)", locals);
+            case FLOAT   -> builtInOrReplacement("float", "java.lang.Float", "java.lang.Float.parseFloat(v)", locals);
+            case DOUBLE  -> builtInOrReplacement("double", "java.lang.Double", "java.lang.Double.parseDouble(v)", locals);
+            case CHAR    -> converter("char", "java.lang.Character", locals);
+            case DECLARED -> {
+                DeclaredType dt = (DeclaredType)type;
+                TypeElement  te = (TypeElement)dt.asElement();
+                String       qn = te.getQualifiedName().toString();
+
+                if(!canName(te, elementUtils().getPackageOf(owner))) yield null;
+                if(te.getKind() == ElementKind.ENUM) yield builtInOrReplacement(qn, qn, "%s.valueOf(v)".formatted(qn), locals);
+                if(BOXED_CONVERSIONS.containsKey(qn)) yield builtInOrReplacement(qn, qn, BOXED_CONVERSIONS.get(qn), locals);
+                // Anything else is left to the converters registered at runtime.
+                yield (dt.getTypeArguments().isEmpty() ? converter(qn, qn, locals) : null);
+            }
+            default -> null;
+        };/*@f1*/
+    }
+
+    private @NotNull String converter(@NotNull String classLiteral, @NotNull String typeName, @NotNull List<String> locals) {
+        return "%s.convert(v)".formatted(converterLocal(classLiteral, typeName, locals));
+    }
+
+    /**
+     * Adds a local that holds the converter registered for the type at runtime and returns it's name.
+     */
+    private @NotNull String converterLocal(@NotNull String classLiteral, @NotNull String typeName, @NotNull List<String> locals) {
+        String name = "c%d".formatted(locals.size());
+        locals.add("%s.ValueConverter<%s> %s = %1$s.Converters.get(%s.class);".formatted(PKG_CMDPROC, typeName, name, classLiteral));
+        return name;
+    }
+
+    /**
+     * Returns the expression that wraps the value in a {@code Lazy} so that it is converted when it is first used.
+     */
+    private @Nullable String lazyConversion(@NotNull TypeElement owner, @NotNull DeclaredType type, @NotNull String switchName, @NotNull List<String> locals) {
+        TypeMirror arg = (type.getTypeArguments().isEmpty() ? elementUtils().getTypeElement(String.class.getName()).asType() : type.getTypeArguments().get(0));
+        if((arg instanceof WildcardType w) && (w.getSuperBound() == null) && (w.getExtendsBound() != null)) arg = w.getExtendsBound();
+        if(!((arg instanceof DeclaredType dt) && dt.getTypeArguments().isEmpty())) return null;
+
+        TypeElement te = (TypeElement)dt.asElement();
+        if(!canName(te, elementUtils().getPackageOf(owner))) return null;
+
+        String qn = te.getQualifiedName().toString();
+        return "new %s.Lazy<>(v, %s, %s)".formatted(PKG_CMDPROC, converterLocal(qn, qn, locals), elementUtils().getConstantExpression(switchName));
+    }
+
+    private @Nullable OData.Delivery delivery(@NotNull Element e, @NotNull TypeMirror type) {
+        if(isArrayOfString(type)) return OData.Delivery.ARRAY;
+        if(isCollectionOfString(type)) return OData.Delivery.LIST;
+        if(isOfString(type, Iterator.class)) return OData.Delivery.ITERATOR;
+        if(isOfString(type, Stream.class)) return OData.Delivery.STREAM;
+        if((e.getKind() == ElementKind.METHOD) && isString(type)) return OData.Delivery.CONSUMER;
+        return null;
+    }
+
+    private Elements elementUtils() {
+        return processingEnv.getElementUtils();
+    }
+
+    private void error(@NotNull Element e, @NotNull String msg) {
+        ++errorCount;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, msg, e);
+    }
+
+    private boolean isArrayOfString(@NotNull TypeMirror type) {
+        return ((type instanceof ArrayType at) && isString(at.getComponentType()));
+    }
+
+    private boolean isCollectionOfString(@NotNull TypeMirror type) {
+        TypeMirror arrayList = typeUtils().erasure(elementUtils().getTypeElement(ArrayList.class.getName()).asType());
+        return ((type instanceof DeclaredType dt) && typeUtils().isAssignable(arrayList, typeUtils().erasure(type)) && isStringTypeArgument(dt));
+    }
+
+    private boolean isOfString(@NotNull TypeMirror type, @NotNull Class<?> expected) {
+        return ((type instanceof DeclaredType dt) && ((TypeElement)dt.asElement()).getQualifiedName().contentEquals(expected.getName()) && isStringTypeArgument(dt));
+    }
+
+    private boolean isStringTypeArgument(@NotNull DeclaredType type) {
+        List<? extends TypeMirror> args = type.getTypeArguments();
+        if(args.size() != 1) return false;
+        if(!(args.get(0) instanceof WildcardType w)) return isString(args.get(0));
+        if(w.getSuperBound() != null) return isString(w.getSuperBound());
+        return ((w.getExtendsBound() != null) && isString(w.getExtendsBound()));
+    }
+
+    /**
+     * Returns {@code true} for the {@link Supplier} and {@code Lazy} members that are bound to a value converted when it is first used.
+     */
+    private boolean isLazy(@NotNull TypeMirror type) {
+        if(type.getKind() != TypeKind.DECLARED) return false;
+        Name qn = ((TypeElement)((DeclaredType)type).asElement()).getQualifiedName();
+        return (qn.contentEquals(Supplier.class.getName()) || qn.contentEquals(PKG_CMDPROC + ".Lazy"));
+    }
+
+    /**
+     * Returns {@code true} for the members that {@code ValueBuffer} binds: the arrays and lists of repeatable parameters and the {@code int} and
+     * {@code long} members of counted flags.
+     */
+    private boolean isRepeatable(@NotNull TypeMirror type, boolean isFlag) {
+        if(isFlag) {
+            return switch(type.getKind()) {/*@f0*/
+                case INT, LONG -> true;
+                case DECLARED  -> Set.of(Integer.class.getName(), Long.class.getName()).contains(((TypeElement)((DeclaredType)type).asElement()).getQualifiedName().toString());
+                default        -> false;
+            };/*@f1*/
+        }
+        if(type.getKind() == TypeKind.ARRAY) return true;
+        if(type.getKind() != TypeKind.DECLARED) return false;
+
+        TypeMirror list = typeUtils().erasure(elementUtils().getTypeElement(ArrayList.class.getName()).asType());
+        return (!((TypeElement)((DeclaredType)type).asElement()).getQualifiedName().contentEquals(Object.class.getName())
+                && typeUtils().isAssignable(list, typeUtils().erasure(type)));
+    }
+
+    private boolean isString(@NotNull TypeMirror type) {
+        return ((type instanceof DeclaredType dt) && ((TypeElement)dt.asElement()).getQualifiedName().contentEquals(String.class.getName()));
+    }
+
+    private @NotNull String memberExpression(@NotNull TypeElement type, @NotNull Element e, @NotNull String valueExpression) {
+        String owner = type.getQualifiedName().toString();
+        if(e.getKind() == ElementKind.FIELD) return "%s.%s = %s".formatted(owner, e.getSimpleName(), valueExpression);
+        return "%s.%s(%s)".formatted(owner, e.getSimpleName(), valueExpression);
+    }
+
+    private @Nullable TypeMirror memberType(@NotNull Element e) {
+        if(e.getKind() == ElementKind.FIELD) return e.asType();
+        if(e instanceof ExecutableElement ee) {
+            if(ee.getParameters().size() == 1) return ee.getParameters().get(0).asType();
+            String txt = ee.getParameters().isEmpty() ? msgs.getString("txt.no") : msgs.getString("txt.too_many");
+            error(e, msgs.getString("msg.err.wrong_param_count").formatted(txt, memberName(e)));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the name of the member in the same form that is used when the member is found with reflection: {@code pkg.Class.field} or
+     * {@code pkg.Class.method(type)} with the binary names of the classes.
+     */
+    private @NotNull String memberName(@NotNull Element e) {
+        String name = "%s.%s".formatted(elementUtils().getBinaryName((TypeElement)e.getEnclosingElement()), e.getSimpleName());
+        if(!(e instanceof ExecutableElement m)) return name;
+
+        StringJoiner j = new StringJoiner(",", name + "(", ")");
+        for(VariableElement p : m.getParameters()) j.add(typeName(typeUtils().erasure(p.asType())));
+        return j.toString();
+    }
+
+    private void processType(@NotNull TypeElement type) {
+        List<String> locals    = new ArrayList<>();
+        List<String> fpData    = new ArrayList<>();
+        List<String> oData     = new ArrayList<>();
+        boolean      instance  = isInstanceType(type);
+        boolean      generate  = !instance;
+        int          errorMark = errorCount;
+
+        for(Element e : members(type)) {
+            CmdFlag  cf     = e.getAnnotation(CmdFlag.class);
+            CmdParam cp     = e.getAnnotation(CmdParam.class);
+            CmdOther co     = e.getAnnotation(CmdOther.class);
+            String   aoType = ((e.getKind() == ElementKind.FIELD) ? TXT_FIELD : TXT_METHOD);
+
+            if((cf != null) && (cp != null)) {
+                error(e, msgs.getString("msg.err.cannot_be_both").formatted(aoType, memberName(e)));
+            }
+            else if((cf != null) || (cp != null)) {
+                String fp = processFlagOrParam(type, e, cf, cp, aoType, instance, locals);
+                if(fp == null) generate = false;
+                else fpData.add(fp);
+            }
+
+            if(co != null) {
+                String od = processOther(type, e, aoType, instance);
+                if(od == null) generate = false;
+                else oData.add(od);
+            }
+        }
+
+        checkConflicts(type);
+        if(generate && (errorCount == errorMark) && !(fpData.isEmpty() && oData.isEmpty())) writeBinder(type, locals, fpData, oData);
+    }
+
+    /**
+     * Returns {@code true} if the type is meant to be bound with {@link com.projectgalen.lib.cmdproc.CmdLnInfo#forType(Class)} - it's a record or it has
+     * annotated instance members. Those are bound through handles at runtime and only validated here.
+     */
+    private boolean isInstanceType(@NotNull TypeElement type) {
+        if(type.getKind() == ElementKind.RECORD) return true;
+        for(Element e : members(type)) if(isAnnotated(e) && !e.getModifiers().contains(Modifier.STATIC)) return true;
+        return false;
+    }
+
+    private @NotNull List<Element> members(@NotNull TypeElement type) {
+        List<Element> list = new ArrayList<>();
+        for(Element e : type.getEnclosedElements()) {
+            if((e.getKind() == ElementKind.FIELD) || (e.getKind() == ElementKind.METHOD)) {
+                // Annotations on record components are copied to their accessor methods. Only the component fields are used.
+                if((type.getKind() != ElementKind.RECORD) || (e.getKind() == ElementKind.FIELD) || e.getModifiers().contains(Modifier.STATIC)) list.add(e);
+            }
+        }
+        return list;
+    }
+
+    private @Nullable String processFlagOrParam(@NotNull TypeElement type, @NotNull Element e, @Nullable CmdFlag cf, @Nullable CmdParam cp, @NotNull String aoType, boolean instance, @NotNull List<String> locals) {
+        boolean isFlag    = (cf != null);
+        String  kind      = (isFlag ? TXT_FLAG : TXT_PARAM);
+        String  longName  = (isFlag ? cf.longName() : cp.longName()).trim();
+        int     shortName = (isFlag ? cf.shortName() : cp.shortName());
+
+        if(!validate(e, kind, aoType, instance)) return null;
+        if(longName.isEmpty() && (shortName == 0)) {
+            error(e, msgs.getString("msg.err.needs_name").formatted(kind, aoType, memberName(e)));
+            return null;
+        }
+
+        TypeMirror mType = memberType(e);
+        if(mType == null) return null;
+        if(instance) return "";
+        // Repeatable parameters and counted flags are collected during the parse so they are bound with reflection at runtime.
+        if(isRepeatable(mType, isFlag)) return null;
+        if(!reachable(e, kind, aoType)) return null;
+
+        String sw   = (longName.isEmpty() ? "-%s".formatted(Character.toString(shortName)) : "--%s".formatted(longName));
+        String conv = (isLazy(mType) ? lazyConversion(type, (DeclaredType)mType, sw, locals) : conversion(type, mType, locals));
+        if(conv == null) {
+            warning(e, msgs.getString("msg.warn.unsupported_type").formatted(kind, aoType, memberName(e)));
+            return null;
+        }
+
+        String[]      allowed = (isFlag ? new String[0] : cp.allowedValues());
+        StringJoiner  values  = new StringJoiner(", ", "new java.lang.String[] { ", " }").setEmptyValue("new java.lang.String[0]");
+        Elements      eu      = elementUtils();
+        for(String v : allowed) values.add(eu.getConstantExpression(v));
+
+        return "new %s.FPData(%s, %s, %s, %d, %s, %s, %s, (t, v) -> %s)".formatted(PKG_CMDPROC,
+                                                                             isFlag,
+                                                                             (isFlag ? cf.required() : cp.required()),
+                                                                             eu.getConstantExpression(longName),
+                                                                             shortName,
+                                                                             eu.getConstantExpression((isFlag ? cf.documentation() : cp.documentation()).trim()),
+                                                                             values,
+                                                                             eu.getConstantExpression(memberName(e)),
+                                                                             memberExpression(type, e, conv));
+    }
+
+    private @Nullable String processOther(@NotNull TypeElement type, @NotNull Element e, @NotNull String aoType, boolean instance) {
+        if(!validate(e, TXT_OTHER, aoType, instance)) return null;
+
+        TypeMirror mType = memberType(e);
+        if(mType == null) return null;
+
+        OData.Delivery delivery = delivery(e, mType);
+        if(delivery == null) {
+            error(e, msgs.getString("msg.err.other_bad_type").formatted(aoType, memberName(e)));
+            return null;
+        }
+        if(instance) return "";
+        if(!reachable(e, TXT_OTHER, aoType)) return null;
+
+        String name = elementUtils().getConstantExpression(memberName(e));
+        if(delivery.collects()) {
+            boolean isArray = (delivery == OData.Delivery.ARRAY);
+            String  conv    = (isArray ? "v.toArray(new java.lang.String[0])" : "new java.util.ArrayList<>(v)");
+            return "new %s.OData(%s, %s, (t, v) -> %s)".formatted(PKG_CMDPROC, name, isArray, memberExpression(type, e, conv));
+        }
+
+        String conv = "(%s)v".formatted(mType);
+        return "new %s.OData(%s, %1$s.OData.Delivery.%s, (t, v) -> %s)".formatted(PKG_CMDPROC, name, delivery, memberExpression(type, e, conv));
+    }
+
+    private boolean reachable(@NotNull Element e, @NotNull String kind, @NotNull String aoType) {
+        if(!e.getModifiers().contains(Modifier.PRIVATE) && canReach((TypeElement)e.getEnclosingElement())) return true;
+        warning(e, msgs.getString("msg.warn.not_reachable").formatted(kind, aoType, memberName(e)));
+        return false;
+    }
+
+    private static boolean isAnnotated(@NotNull Element e) {
+        return ((e.getAnnotation(CmdFlag.class) != null) || (e.getAnnotation(CmdParam.class) != null) || (e.getAnnotation(CmdOther.class) != null));
+    }
+
+    /**
+     * Returns the name of an erased type as {@link Class#getTypeName()} would.
+     */
+    private @NotNull String typeName(@NotNull TypeMirror type) {
+        return switch(type.getKind()) {/*@f0*/
+            case ARRAY    -> typeName(((ArrayType)type).getComponentType()) + "[]";
+            case DECLARED -> elementUtils().getBinaryName((TypeElement)((DeclaredType)type).asElement()).toString();
+            default       -> type.toString();
+        };/*@f1*/
+    }
+
+    private Types typeUtils() {
+        return processingEnv.getTypeUtils();
+    }
+
+    private boolean validate(@NotNull Element e, @NotNull String kind, @NotNull String aoType, boolean instance) {
+        Set<Modifier> mods     = e.getModifiers();
+        boolean       isStatic = mods.contains(Modifier.STATIC);
+
+        if(!(isStatic || instance)) {
+            error(e, msgs.getString("msg.err.not_static").formatted(kind, aoType, memberName(e)));
+            return false;
+        }
+        if((e.getKind() == ElementKind.FIELD) && mods.contains(Modifier.FINAL) && (isStatic || (e.getEnclosingElement().getKind() != ElementKind.RECORD))) {
+            error(e, msgs.getString("msg.err.is_final").formatted(kind, aoType, memberName(e)));
+            return false;
+        }
+        return true;
+    }
+
+    private void warning(@NotNull Element e, @NotNull String msg) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.MANDATORY_WARNING, msg, e);
+    }
+
+    private void writeBinder(@NotNull TypeElement type, @NotNull List<String> locals, @NotNull List<String> fpData, @NotNull List<String> oData) {
+        String pkg        = elementUtils().getPackageOf(type).getQualifiedName().toString();
+        String binaryName = elementUtils().getBinaryName(type).toString();
+        String simpleName = (pkg.isEmpty() ? binaryName : binaryName.substring(pkg.length() + 1)) + CmdLnBinder.SUFFIX;
+        String fqName     = (pkg.isEmpty() ? simpleName : "%s.%s".formatted(pkg, simpleName));
+
+        try(PrintWriter w = new PrintWriter(processingEnv.getFiler().createSourceFile(fqName, type).openWriter())) {
+            if(!pkg.isEmpty()) w.printf("package %s;%n%n", pkg);
+            w.printf("@javax.annotation.processing.Generated(\"%s\")%n", getClass().getName());
+            w.printf("public final class %s implements %s.CmdLnBinder {%n%n", simpleName, PKG_CMDPROC);
+            w.printf("%spublic %s() { }%n%n", TAB, simpleName);
+            w.printf("%s@Override%n", TAB);
+            w.printf("%s@SuppressWarnings(\"unchecked\")%n", TAB);
+            w.printf("%spublic void bind(java.util.List<%2$s.FPData> cmdLnData, java.util.List<%2$s.OData> cmdLnOther) {%n", TAB, PKG_CMDPROC);
+            for(String local : locals) w.printf("%s%s%s%n", TAB, TAB, local);
+            for(String fp : fpData) w.printf("%s%scmdLnData.add(%s);%n", TAB, TAB, fp);
+            for(String od : oData) w.printf("%s%scmdLnOther.add(%s);%n", TAB, TAB, od);
+            w.printf("%s}%n}%n", TAB);
+        }
+        catch(IOException e) {
+            error(type, e.toString());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.projectgalen.lib.cmdproc.server;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CommandClient.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.server.Protocol.FrameWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Runs a command on a {@link CommandServer}:
+ * <pre>
+ *     java -cp cmdproc.jar com.projectgalen.lib.cmdproc.server.CommandClient /tmp/mytool.sock grep -i foo
+ * </pre>
+ * The client only uses {@code java.base} and never scans or parses anything, so it starts in a fraction of the time of the tool itself - especially with
+ * {@code -XX:TieredStopAtLevel=1 -Xshare:auto}. Since the protocol is simple it can also be written in any other language.
+ *
+ * @see Protocol
+ */
+public final class CommandClient {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private CommandClient() { }
+
+    public static void main(String... args) {
+        if(args.length < 2) {
+            System.err.println(Protocol.msgs.getString("msg.usage.client"));
+            System.exit(2);
+        }
+
+        String[] cmdArgs = new String[args.length - 2];
+        System.arraycopy(args, 2, cmdArgs, 0, cmdArgs.length);
+
+        try {
+            System.exit(run(Path.of(args[0]), args[1], cmdArgs, System.getenv(), System.in, System.out, System.err));
+        }
+        catch(IOException e) {
+            System.err.println(e);
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Runs a command on a server with this process's working directory.
+     *
+     * @param socket  The server's socket.
+     * @param command The name of the command.
+     * @param args    The command-line arguments.
+     * @param env     The environment variables.
+     * @param stdin   Sent to the command as it's STDIN by a separate thread, or {@code null} for an empty STDIN.
+     * @param stdout  Receives the command's STDOUT.
+     * @param stderr  Receives the command's STDERR.
+     * @return The exit code of the command.
+     * @throws IOException If the server cannot be reached or goes away.
+     */
+    public static int run(@NotNull Path socket, @NotNull String command, String @NotNull [] args, @NotNull Map<String, String> env, InputStream stdin, @NotNull OutputStream stdout, @NotNull OutputStream stderr) throws IOException {
+        try(SocketChannel ch = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            ch.connect(UnixDomainSocketAddress.of(socket));
+
+            DataInputStream  in  = new DataInputStream(new BufferedInputStream(Channels.newInputStream(ch), BUFFER_SIZE));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(ch), BUFFER_SIZE));
+
+            out.writeInt(Protocol.MAGIC);
+            out.writeInt(Protocol.VERSION);
+            Protocol.writeString(out, command);
+            Protocol.writeString(out, System.getProperty("user.dir"));
+            out.writeInt(env.size());
+            for(Map.Entry<String, String> e : env.entrySet()) {
+                Protocol.writeString(out, e.getKey());
+                Protocol.writeString(out, e.getValue());
+            }
+            out.writeInt(args.length);
+            for(String arg : args) Protocol.writeString(out, arg);
+
+            FrameWriter frames = new FrameWriter(out);
+            if(stdin == null) frames.write(Protocol.STDIN_EOF, new byte[0], 0, 0);
+            else out.flush();
+
+            // STDIN is pumped by a daemon thread since reading it can block forever when the command never asks for it.
+            Thread pump = ((stdin == null) ? null : Thread.ofPlatform().daemon().start(() -> pump(stdin, frames)));
+            try {
+                return receive(in, stdout, stderr);
+            }
+            finally {
+                if(pump != null) pump.interrupt();
+            }
+        }
+    }
+
+    private static void pump(@NotNull InputStream stdin, @NotNull FrameWriter out) {
+        byte[] b = new byte[BUFFER_SIZE];
+        try {
+            for(int n = stdin.read(b); n >= 0; n = stdin.read(b)) if(n > 0) out.write(Protocol.STDIN, b, 0, n);
+            out.write(Protocol.STDIN_EOF, b, 0, 0);
+        }
+        catch(IOException ignored) {
+            // The command has finished and the connection is closed.
+        }
+    }
+
+    private static int receive(@NotNull DataInputStream in, @NotNull OutputStream stdout, @NotNull OutputStream stderr) throws IOException {
+        while(true) {
+            byte   type = in.readByte();
+            byte[] b    = Protocol.readPayload(in);
+
+            switch(type) {/*@f0*/
+                case Protocol.STDOUT -> { stdout.write(b); stdout.flush(); }
+                case Protocol.STDERR -> { stderr.write(b); stderr.flush(); }
+                case Protocol.EXIT   -> { return (((b[0] & 0xff) << 24) | ((b[1] & 0xff) << 16) | ((b[2] & 0xff) << 8) | (b[3] & 0xff)); }
+                default              -> throw new IOException(Protocol.msgs.getString("msg.err.protocol"));
+            }/*@f1*/
+        }
+    }
+}
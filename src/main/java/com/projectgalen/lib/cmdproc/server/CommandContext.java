@@ -0,0 +1,87 @@
+package com.projectgalen.lib.cmdproc.server;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CommandContext.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.StdIn;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything a command run by a {@link CommandServer} knows about the client that started it. A command must use these streams, not {@link System#in},
+ * {@link System#out} and {@link System#err}, which belong to the server, and must resolve relative paths against {@link #cwd()}.
+ */
+public final class CommandContext {
+
+    private final String              command;
+    private final List<String>        args;
+    private final Path                cwd;
+    private final Map<String, String> env;
+    private final InputStream         stdin;
+    private final PrintStream         stdout;
+    private final PrintStream         stderr;
+    private       StdIn               stdinChannel;
+
+    CommandContext(@NotNull String command, @NotNull List<String> args, @NotNull Path cwd, @NotNull Map<String, String> env, @NotNull InputStream stdin, @NotNull PrintStream stdout, @NotNull PrintStream stderr) {
+        this.command = command;
+        this.args    = List.copyOf(args);
+        this.cwd     = cwd;
+        this.env     = Map.copyOf(env);
+        this.stdin   = stdin;
+        this.stdout  = stdout;
+        this.stderr  = stderr;
+    }
+
+    /**
+     * Returns the command-line arguments as the client gave them.
+     */
+    public @NotNull List<String> args()       { return args; }
+
+    public @NotNull String command()          { return command; }
+
+    /**
+     * Returns the client's working directory.
+     */
+    public @NotNull Path cwd()                { return cwd; }
+
+    /**
+     * Returns the client's environment variables.
+     */
+    public @NotNull Map<String, String> env() { return env; }
+
+    public @NotNull PrintStream stderr()      { return stderr; }
+
+    /**
+     * Returns the client's STDIN. It is read from the client only as the command reads it.
+     */
+    public @NotNull InputStream stdin()       { return stdin; }
+
+    /**
+     * Returns the client's STDIN for fast reading of lines and records. It reads from {@link #stdin()} so only one of them can be used.
+     */
+    public synchronized @NotNull StdIn stdinChannel() {
+        if(stdinChannel == null) stdinChannel = StdIn.of(stdin);
+        return stdinChannel;
+    }
+
+    public @NotNull PrintStream stdout()      { return stdout; }
+}
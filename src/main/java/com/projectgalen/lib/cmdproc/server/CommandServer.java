@@ -0,0 +1,331 @@
+package com.projectgalen.lib.cmdproc.server;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CommandServer.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CmdLnException;
+import com.projectgalen.lib.cmdproc.CmdLnInfo;
+import com.projectgalen.lib.cmdproc.CmdProc;
+import com.projectgalen.lib.cmdproc.CompiledCmdProc;
+import com.projectgalen.lib.cmdproc.OptionSources;
+import com.projectgalen.lib.cmdproc.server.Protocol.FrameWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.net.BindException;
+import java.net.ConnectException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a JVM running so that short command-line tools don't pay for starting one on every run. A {@link CommandClient} connects to the server over a Unix domain
+ * socket and sends the name of a command, it's arguments, working directory, environment and STDIN; the server parses the arguments, runs the command on a
+ * virtual thread of it's own, and sends back STDOUT, STDERR and the exit code.
+ * <pre>
+ *     try(CommandServer server = new CommandServer(Path.of("/tmp/mytool.sock"))) {
+ *         server.add("grep", GrepOptions.class, (options, ctx) -> Grep.run(options, ctx.stdin(), ctx.stdout()));
+ *         server.serve();
+ *     }
+ * </pre>
+ * Commands are registered with a type that is bound with {@link CmdLnInfo#forType(Class)}, so every run gets it's own instance and runs never see each
+ * other's values - except for static annotated members of the type, which are shared by every run, and by runs on other threads, exactly as they are by the
+ * parsers of any other {@link CmdLnInfo}. Commands should only use instance members. The {@link CompiledCmdProc} of a command is built once and shared by
+ * every run. Problems with the command-line are reported to the client's
+ * STDERR with the help page and an exit code of 1 - they never end the server.
+ *
+ * @see Protocol
+ */
+public final class CommandServer implements Closeable {
+
+    /**
+     * Runs a command.
+     *
+     * @param <T> The type the command-line is bound to.
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+        /**
+         * @param options The command-line bound to a new instance of the command's type.
+         * @param context The client's streams, working directory and environment.
+         * @return The exit code.
+         * @throws Exception If the command fails. The stack trace is sent to the client's STDERR and the exit code is 1.
+         */
+        int run(@NotNull T options, @NotNull CommandContext context) throws Exception;
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Path                    socket;
+    private final Map<String, Command<?>> commands = new ConcurrentHashMap<>();
+    private       ServerSocketChannel     channel;
+    private       boolean                 closed   = false;
+
+    public CommandServer(@NotNull Path socket) {
+        this.socket = socket;
+    }
+
+    /**
+     * Adds a command whose command-line is bound to a new instance of the given type on every run.
+     *
+     * @param name    The name the client uses for the command.
+     * @param type    The type.
+     * @param handler Runs the command.
+     * @param <T>     The type.
+     * @return This server.
+     */
+    public <T> @NotNull CommandServer add(@NotNull String name, @NotNull Class<T> type, @NotNull Handler<? super T> handler) {
+        return add(name, type, new CompiledCmdProc(CmdLnInfo.forType(type), false, false, OptionSources.NONE, false), handler);
+    }
+
+    /**
+     * Adds a command that is parsed with the given {@link CompiledCmdProc}. It must be made for the given type with {@link CmdLnInfo#forType(Class)} and must
+     * not exit on errors. It must not expand argument files or allow the {@code -} switch either, since both would be read by the server, relative to it's
+     * own working directory, rather than by the client. If it has {@link OptionSources} the environment variables come from the client.
+     *
+     * @param name    The name the client uses for the command.
+     * @param type    The type.
+     * @param proc    The parser.
+     * @param handler Runs the command.
+     * @param <T>     The type.
+     * @return This server.
+     */
+    public <T> @NotNull CommandServer add(@NotNull String name, @NotNull Class<T> type, @NotNull CompiledCmdProc proc, @NotNull Handler<? super T> handler) {
+        if((proc.getInfo().getTargetType() != type) || proc.isExitOnError() || proc.isExpandArgFiles() || proc.isAllowStdInRedirection()) throw new IllegalArgumentException(Protocol.msgs.getString("msg.err.server_parser").formatted(name));
+        commands.put(name, new Command<>(type, proc, handler));
+        return this;
+    }
+
+    /**
+     * Stops accepting connections and removes the socket file. Commands that are running are left to finish.
+     */
+    public @Override void close() throws IOException {
+        ServerSocketChannel ch;
+        synchronized(this) {
+            ch      = channel;
+            channel = null;
+            closed  = true;
+        }
+        if(ch != null) {
+            ch.close();
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    /**
+     * Binds the socket and accepts connections until the server is closed. A socket file left behind by a server that is no longer running is replaced.
+     *
+     * @throws IOException If the socket cannot be bound, including when another server is still listening on it.
+     */
+    public void serve() throws IOException {
+        ServerSocketChannel ch    = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        boolean             bound = false;
+        try {
+            removeStaleSocket();
+            ch.bind(UnixDomainSocketAddress.of(socket));
+            bound = true;
+            // The server may have been closed while the socket was being bound.
+            synchronized(this) {
+                if(closed) return;
+                channel = ch;
+            }
+
+            while(ch.isOpen()) {
+                SocketChannel client = ch.accept();
+                Thread.ofVirtual().name("cmdproc-" + socket.getFileName()).start(() -> handle(client));
+            }
+        }
+        catch(IOException e) {
+            // Closing the server ends the accept with an exception.
+            if(ch.isOpen()) throw e;
+        }
+        finally {
+            close();
+            ch.close();
+            if(bound) Files.deleteIfExists(socket);
+        }
+    }
+
+    private void handle(@NotNull SocketChannel client) {
+        try(client) {
+            DataInputStream  in  = new DataInputStream(new BufferedInputStream(Channels.newInputStream(client), BUFFER_SIZE));
+            FrameWriter      out = new FrameWriter(new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(client), BUFFER_SIZE)));
+
+            if((in.readInt() != Protocol.MAGIC) || (in.readInt() != Protocol.VERSION)) return;
+
+            String              command = Protocol.readString(in);
+            Path                cwd     = Path.of(Protocol.readString(in));
+            Map<String, String> env     = new HashMap<>();
+            List<String>        args    = new ArrayList<>();
+
+            for(int i = in.readInt(); i > 0; i--) env.put(Protocol.readString(in), Protocol.readString(in));
+            for(int i = in.readInt(); i > 0; i--) args.add(Protocol.readString(in));
+
+            PrintStream    stdout = new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, Protocol.STDOUT), BUFFER_SIZE), false, StandardCharsets.UTF_8);
+            PrintStream    stderr = new PrintStream(new BufferedOutputStream(new FrameOutputStream(out, Protocol.STDERR), BUFFER_SIZE), true, StandardCharsets.UTF_8);
+            CommandContext ctx    = new CommandContext(command, args, cwd, env, new FrameInputStream(in), stdout, stderr);
+            int            code   = run(ctx);
+
+            stdout.flush();
+            stderr.flush();
+            byte[] b = { (byte)(code >>> 24), (byte)(code >>> 16), (byte)(code >>> 8), (byte)code };
+            out.write(Protocol.EXIT, b, 0, b.length);
+        }
+        catch(IOException ignored) {
+            // The client went away.
+        }
+    }
+
+    /**
+     * Deletes the socket file only if nothing answers on it - the file of a server that is still running is left alone and binding to it fails.
+     */
+    private void removeStaleSocket() throws IOException {
+        if(!Files.exists(socket)) return;
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+        }
+        catch(ConnectException e) {
+            Files.deleteIfExists(socket);
+            return;
+        }
+        throw new BindException(Protocol.msgs.getString("msg.err.server_running").formatted(socket));
+    }
+
+    private int run(@NotNull CommandContext ctx) {
+        Command<?> command = commands.get(ctx.command());
+        if(command == null) {
+            ctx.stderr().println(Protocol.msgs.getString("msg.err.unknown_command").formatted(ctx.command()));
+            return 127;
+        }
+
+        try {
+            return command.run(ctx);
+        }
+        catch(Exception e) {
+            e.printStackTrace(ctx.stderr());
+            return 1;
+        }
+    }
+
+    private record Command<T>(@NotNull Class<T> type, @NotNull CompiledCmdProc proc, @NotNull Handler<? super T> handler) {
+        int run(@NotNull CommandContext ctx) throws Exception {
+            CmdProc parser = proc.newParser(ctx.args().toArray(String[]::new));
+            if(!proc.getSources().isEmpty()) parser.setSources(proc.getSources().withEnvironment(ctx.env()));
+
+            try {
+                parser.processCommandLine();
+            }
+            catch(CmdLnException e) {
+                for(var error : e.getErrors()) ctx.stderr().println(error.message());
+                ctx.stderr().print(helpText(ctx));
+                return 1;
+            }
+
+            if(parser.isHelpRequested()) {
+                ctx.stderr().print(helpText(ctx));
+                return 1;
+            }
+            return handler.run(parser.getResult(type), ctx);
+        }
+
+        /**
+         * The help page wrapped to the width of the client's terminal.
+         */
+        private @NotNull String helpText(@NotNull CommandContext ctx) {
+            try {
+                return proc.getInfo().getHelpText(Locale.getDefault(), Math.max(40, Integer.parseInt(ctx.env().getOrDefault("COLUMNS", "80").trim())));
+            }
+            catch(NumberFormatException e) {
+                return proc.getInfo().getHelpText(Locale.getDefault(), 80);
+            }
+        }
+    }
+
+    /**
+     * Sends everything written to it to the client as frames of one type.
+     */
+    private static final class FrameOutputStream extends OutputStream {
+        private final FrameWriter out;
+        private final byte        type;
+
+        FrameOutputStream(@NotNull FrameWriter out, byte type) {
+            this.out  = out;
+            this.type = type;
+        }
+
+        public @Override void write(int b) throws IOException {
+            write(new byte[] { (byte)b }, 0, 1);
+        }
+
+        public @Override void write(byte @NotNull [] b, int off, int len) throws IOException {
+            if(len > 0) out.write(type, b, off, len);
+        }
+    }
+
+    /**
+     * Reads the client's STDIN from the {@link Protocol#STDIN} frames as they are needed.
+     */
+    private static final class FrameInputStream extends InputStream {
+        private final DataInputStream in;
+        private       byte[]          buffer = new byte[0];
+        private       int             pos    = 0;
+        private       boolean         eof    = false;
+
+        FrameInputStream(@NotNull DataInputStream in) {
+            this.in = in;
+        }
+
+        public @Override int read() throws IOException {
+            return (fill() ? (buffer[pos++] & 0xff) : -1);
+        }
+
+        public @Override int read(byte @NotNull [] b, int off, int len) throws IOException {
+            if(len == 0) return 0;
+            if(!fill()) return -1;
+            int n = Math.min(len, (buffer.length - pos));
+            System.arraycopy(buffer, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        public @Override int available() {
+            return (buffer.length - pos);
+        }
+
+        private boolean fill() throws IOException {
+            while(!eof && (pos == buffer.length)) {
+                byte type = in.readByte();
+                if(type == Protocol.STDIN) {
+                    buffer = Protocol.readPayload(in);
+                    pos    = 0;
+                }
+                else {
+                    Protocol.readPayload(in);
+                    eof = true;
+                }
+            }
+            return (pos < buffer.length);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.projectgalen.lib.cmdproc.server;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: Protocol.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ResourceBundle;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The wire format between a {@link CommandClient} and a {@link CommandServer}. Every number is big endian. The client starts with the request:
+ * <pre>
+ *     int      magic ('PGCS')
+ *     int      version
+ *     string   command name
+ *     string   working directory
+ *     int      number of environment variables, followed by that many pairs of strings
+ *     int      number of arguments, followed by that many strings
+ * </pre>
+ * where a string is an int byte count followed by that many bytes of UTF-8. After that both sides send frames - a byte type, an int length and that many bytes.
+ * The client sends {@link #STDIN} frames and then an empty {@link #STDIN_EOF} frame; the server sends {@link #STDOUT} and {@link #STDERR} frames and finishes
+ * with an {@link #EXIT} frame that holds the exit code as an int.
+ */
+final class Protocol {
+
+    static final int MAGIC   = 0x50474353;
+    static final int VERSION = 1;
+
+    static final byte STDIN     = 1;
+    static final byte STDIN_EOF = 2;
+    static final byte STDOUT    = 3;
+    static final byte STDERR    = 4;
+    static final byte EXIT      = 5;
+
+    static final ResourceBundle msgs = ResourceBundle.getBundle("com.projectgalen.lib.cmdproc.messages");
+
+    private Protocol() { }
+
+    static @NotNull String readString(@NotNull DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if(len < 0) throw new IOException(msgs.getString("msg.err.protocol"));
+        return new String(in.readNBytes(len), StandardCharsets.UTF_8);
+    }
+
+    static void writeString(@NotNull DataOutputStream out, @NotNull String str) throws IOException {
+        byte[] b = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    /**
+     * Reads the payload of a frame whose type has already been read.
+     */
+    static byte @NotNull [] readPayload(@NotNull DataInputStream in) throws IOException {
+        int    len = in.readInt();
+        byte[] b   = ((len < 0) ? null : in.readNBytes(len));
+        if((b == null) || (b.length < len)) throw new EOFException(msgs.getString("msg.err.protocol"));
+        return b;
+    }
+
+    /**
+     * Writes frames to a stream. Frames can be written from more than one thread - a lock is used rather than {@code synchronized} so that virtual threads
+     * waiting on it don't pin their carrier threads.
+     */
+    static final class FrameWriter {
+        private final DataOutputStream out;
+        private final ReentrantLock    lock = new ReentrantLock();
+
+        FrameWriter(@NotNull DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(byte type, byte @NotNull [] b, int off, int len) throws IOException {
+            lock.lock();
+            try {
+                out.writeByte(type);
+                out.writeInt(len);
+                out.write(b, off, len);
+                out.flush();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+}
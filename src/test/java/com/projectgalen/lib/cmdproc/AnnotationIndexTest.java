@@ -0,0 +1,88 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: AnnotationIndexTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdOther;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The metadata built from the class file, the way the agent does, has to be the same as the metadata found with reflection.
+ */
+class AnnotationIndexTest {
+
+    @Test
+    void classFileAndReflectionAgree() throws IOException {
+        List<FPData> indexed      = new ArrayList<>();
+        List<OData>  indexedOther = new ArrayList<>();
+        List<FPData> reflected    = new ArrayList<>();
+        List<OData>  reflectOther = new ArrayList<>();
+
+        assertTrue(AnnotationIndex.bind(Sample.class, ClassFileReader.read(classFile(Sample.class)), false, indexed, indexedOther));
+        ClassMetadata.reflect(Sample.class, false, reflected, reflectOther);
+
+        assertEquals(describe(reflected), describe(indexed));
+        assertEquals(reflectOther.stream().map(od -> od.memberName).toList(), indexedOther.stream().map(od -> od.memberName).toList());
+    }
+
+    @Test
+    void readsModifiedUtf8() throws IOException {
+        ClassFileReader.IndexedClass ic = ClassFileReader.read(classFile(Sample.class));
+        assertNotNull(ic);
+
+        ClassFileReader.IndexedMember mode = ic.members().stream().filter(m -> m.name().equals("mode")).findFirst().orElseThrow();
+        assertNotNull(mode.param());
+        assertArrayEquals(new Object[] { "r🚀", "x", "nul\0", "ü" }, (Object[])mode.param().get("allowedValues"));
+        assertEquals("Ünïcödé 🚀", mode.param().get("documentation"));
+    }
+
+    private static byte @NotNull [] classFile(@NotNull Class<?> cls) throws IOException {
+        String name = (cls.getName().substring(cls.getName().lastIndexOf('.') + 1) + ".class");
+        try(InputStream in = Objects.requireNonNull(cls.getResourceAsStream(name))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static @NotNull List<String> describe(@NotNull List<FPData> data) {
+        return data.stream()
+                   .map(fp -> "%s|%s|%s|%s|%d|%s|%s|%s".formatted(fp.memberName, fp.isFlag, fp.required, fp.longName, fp.shortName, fp.documentation, Arrays.toString(fp.allowedValues), fp.separator))
+                   .sorted()
+                   .toList();
+    }
+
+    @SuppressWarnings("unused")
+    static class Sample {
+        static @CmdParam(longName = "mode", shortName = 'm', allowedValues = { "r🚀", "x", "nul\0", "ü" }, documentation = "Ünïcödé 🚀") String       mode;
+        static @CmdParam(longName = "größe", shortName = 'é', required = true)                                                         int          size;
+        static @CmdFlag(longName = "verbose", shortName = 'v', documentation = "Plain ASCII.")                                         boolean      verbose;
+        static @CmdOther                                                                                                               List<String> others;
+
+        static @CmdParam(longName = "level") void setLevel(long level) { }
+    }
+}
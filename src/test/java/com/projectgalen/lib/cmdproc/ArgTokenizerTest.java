@@ -0,0 +1,69 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ArgTokenizerTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static com.projectgalen.lib.cmdproc.ArgTokenizer.Kind.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgTokenizerTest {
+
+    private final ArgTokenizer tokenizer = new ArgTokenizer();
+
+    @Test
+    void clusteredShortFlags() {
+        assertEquals(SHORT, tokenizer.classify("-abc"));
+        assertEquals("abc", tokenizer.name());
+        assertEquals(SHORT, tokenizer.classify(" -a-bc "));
+        assertEquals("a-bc", tokenizer.name());
+        assertEquals(OTHER, tokenizer.classify("-a bc"));
+        assertEquals(OTHER, tokenizer.classify("---a"));
+        assertEquals(REDIRECT, tokenizer.classify(" - "));
+        assertEquals(END_OF_SWITCHES, tokenizer.classify("--"));
+
+        assertEquals(new Cluster(true, false, "x"), parse("-ab-n", "x"));
+    }
+
+    @Test
+    void longNameWithValue() {
+        assertEquals(LONG_VALUE, tokenizer.classify("--name=value"));
+        assertEquals("name", tokenizer.name());
+        assertEquals("value", tokenizer.value());
+        assertEquals(LONG_VALUE, tokenizer.classify("--name = a=b"));
+        assertEquals("name", tokenizer.name());
+        assertEquals(" a=b", tokenizer.value());
+        assertEquals(LONG, tokenizer.classify("--name"));
+        assertEquals(OTHER, tokenizer.classify("--name="));
+        assertEquals(OTHER, tokenizer.classify("--=value"));
+        assertEquals(OTHER, tokenizer.classify("--name=a\nb"));
+
+        assertEquals(new Cluster(true, false, "x=y"), parse("--name=x=y", "-a"));
+    }
+
+    private static @NotNull Cluster parse(String... args) {
+        CmdProc parser = CompiledCmdProc.forType(Cluster.class, false).newParser(args).setExitOnError(false);
+        parser.processCommandLine();
+        return parser.getResult(Cluster.class);
+    }
+
+    record Cluster(@CmdFlag(shortName = 'a') boolean a, @CmdFlag(shortName = 'b') boolean b, @CmdParam(longName = "name", shortName = 'n') String name) { }
+}
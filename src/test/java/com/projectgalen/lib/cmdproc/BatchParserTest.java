@@ -0,0 +1,79 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: BatchParserTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchParserTest {
+
+    @Test
+    void rejectedRecordIsAnError() {
+        BatchParser<Port> parser = new BatchParser<>(CompiledCmdProc.forType(Port.class, false), Port.class);
+
+        BatchParser.Result<Port> bad = parser.parseLine(1, "--port=-1");
+        assertFalse(bad.isOk());
+        assertEquals(1, bad.errors().size());
+        assertEquals(CmdLnError.Kind.INVALID_VALUE, bad.errors().get(0).kind());
+
+        BatchParser.Result<Port> good = parser.parseLine(2, "--port=80");
+        assertEquals(new Port(80), good.get());
+    }
+
+    @Test
+    void rejectedRecordDoesNotStopTheBatch() {
+        BatchParser<Port>              parser  = new BatchParser<>(CompiledCmdProc.forType(Port.class, false), Port.class);
+        List<BatchParser.Result<Port>> results = new ArrayList<>();
+
+        assertEquals(1, parser.parse(Stream.of("--port=1", "--port=-1", "--port=3"), results::add));
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isOk());
+        assertFalse(results.get(1).isOk());
+        assertEquals(new Port(3), results.get(2).get());
+    }
+
+    @Test
+    void missingRequiredComponentIsAnError() {
+        BatchParser<Host>              parser  = new BatchParser<>(CompiledCmdProc.forType(Host.class, false), Host.class);
+        List<BatchParser.Result<Host>> results = new ArrayList<>();
+
+        assertEquals(1, parser.parse(Stream.of("--name=a", "", "--name=c"), results::add));
+        assertEquals(new Host("a"), results.get(0).get());
+        assertEquals(CmdLnError.Kind.INVALID_VALUE, results.get(1).errors().get(0).kind());
+        assertEquals(new Host("c"), results.get(2).get());
+    }
+
+    record Port(@CmdParam(longName = "port") int port) {
+        Port {
+            if(port < 0) throw new IllegalArgumentException("negative port");
+        }
+    }
+
+    record Host(@CmdParam(longName = "name") String name) {
+        Host {
+            Objects.requireNonNull(name);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdProcProcessorTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import com.projectgalen.lib.cmdproc.processor.CmdProcProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.*;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The classes generated by the annotation processor have to convert values exactly as the reflection binding does, including when a built in converter has
+ * been replaced.
+ */
+class CmdProcProcessorTest {
+
+    @Test
+    void convertsWithTheBuiltInConverters() {
+        assertNotNull(CmdLnBinder.find(Plain.class));
+
+        CompiledCmdProc proc = new CompiledCmdProc(CmdLnInfo.findAnnotatedMembers(new Class<?>[] { Plain.class }), false);
+        proc.newParser("--count", "7", "--total", "8", "--mode", "FAST", "--name", "x", "--quiet").processCommandLine();
+        assertEquals(7, Plain.count);
+        assertEquals(Integer.valueOf(8), Plain.total);
+        assertEquals(Mode.FAST, Plain.mode);
+        assertEquals("x", Plain.name);
+        assertTrue(Plain.quiet);
+    }
+
+    @Test
+    void memberNamesMatchReflection() {
+        List<FPData> generated = new ArrayList<>();
+        List<FPData> reflected = new ArrayList<>();
+
+        Objects.requireNonNull(CmdLnBinder.find(Plain.class)).bind(generated, new ArrayList<>());
+        ClassMetadata.reflect(Plain.class, false, reflected, new ArrayList<>());
+
+        assertEquals(reflected.stream().map(FPData::getMemberName).sorted().toList(), generated.stream().map(FPData::getMemberName).sorted().toList());
+        assertTrue(generated.stream().anyMatch(fp -> fp.getMemberName().equals(Plain.class.getName() + ".setLevel(" + Mode.class.getName() + ")")));
+        assertTrue(generated.stream().allMatch(fp -> fp.getAccessibleObject() == null));
+    }
+
+    @Test
+    void convertsWithReplacedConverters() {
+        assertNotNull(CmdLnBinder.find(Replaced.class));
+
+        CmdLnInfo info;
+        try {
+            Converters.register(int.class, v -> Integer.decode(v));
+            Converters.register(Mode.class, v -> Mode.valueOf(v.toUpperCase()));
+            info = CmdLnInfo.findAnnotatedMembers(new Class<?>[] { Replaced.class });
+        }
+        finally {
+            Converters.reset(int.class);
+            Converters.reset(Mode.class);
+        }
+        assertNull(Converters.getReplacement(int.class));
+        assertNull(Converters.getReplacement(Mode.class));
+
+        new CompiledCmdProc(info, false).newParser("--count", "0x10", "--mode", "slow").processCommandLine();
+        assertEquals(16, Replaced.count);
+        assertEquals(Mode.SLOW, Replaced.mode);
+    }
+
+    @Test
+    void reportsSwitchesDefinedTwice() throws Exception {
+        String source = """
+                        import com.projectgalen.lib.cmdproc.annotations.*;
+                        class Twice {
+                            static @CmdParam(longName = "name") String first;
+                            static @CmdParam(longName = "name") String second;
+                            static @CmdFlag(shortName = 'q') boolean quiet;
+                            static @CmdFlag(shortName = 'q') boolean silent;
+                        }
+                        """;
+        List<String> errors = compile(source);
+        assertEquals(2, errors.size(), errors.toString());
+        assertTrue(errors.get(0).contains("\"--name\"") && errors.get(0).contains("Twice.first") && errors.get(0).contains("Twice.second"), errors.get(0));
+        assertTrue(errors.get(1).contains("\"-q\"") && errors.get(1).contains("Twice.quiet") && errors.get(1).contains("Twice.silent"), errors.get(1));
+    }
+
+    /**
+     * Runs the annotation processor over a single source file and returns the errors it reported.
+     */
+    private static @NotNull List<String> compile(@NotNull String source) throws Exception {
+        JavaCompiler                        compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diags    = new DiagnosticCollector<>();
+        Path                                out      = Files.createTempDirectory("cmdproc");
+        String                              cp       = Path.of(CmdParam.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        JavaFileObject file = new SimpleJavaFileObject(URI.create("string:///Twice.java"), JavaFileObject.Kind.SOURCE) {
+            public @Override CharSequence getCharContent(boolean ignoreEncodingErrors) { return source; }
+        };
+
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diags, List.of("-proc:only", "-cp", cp, "-s", out.toString()), null, List.of(file));
+        task.setProcessors(List.of(new CmdProcProcessor()));
+        task.call();
+        return diags.getDiagnostics().stream().filter(d -> d.getKind() == Diagnostic.Kind.ERROR).map(d -> d.getMessage(null)).toList();
+    }
+
+    enum Mode {FAST, SLOW}
+
+    static class Plain {
+        static @CmdParam(longName = "count") int     count;
+        static @CmdParam(longName = "total") Integer total;
+        static @CmdParam(longName = "mode")  Mode    mode;
+        static @CmdParam(longName = "name")  String  name;
+        static @CmdFlag(longName = "quiet")  boolean quiet;
+
+        static @CmdParam(longName = "level") void setLevel(Mode level) { }
+    }
+
+    static class Replaced {
+        static @CmdParam(longName = "count") int  count;
+        static @CmdParam(longName = "mode")  Mode mode;
+    }
+}
@@ -0,0 +1,75 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CmdProcTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CmdProcTest {
+
+    private final CompiledCmdProc proc = CompiledCmdProc.forType(Options.class, false);
+
+    @Test
+    void unreadableArgumentEndsTheParse() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> proc.newLineParser("--name 'x").setExitOnError(false).processCommandLine());
+        assertEquals(List.of(CmdLnError.Kind.UNREADABLE), e.getErrors().stream().map(CmdLnError::kind).toList());
+    }
+
+    @Test
+    void unreadableShortArgumentEndsTheParse() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> proc.newLineParser("-n 'x").setExitOnError(false).processCommandLine());
+        assertEquals(List.of(CmdLnError.Kind.UNREADABLE), e.getErrors().stream().map(CmdLnError::kind).toList());
+    }
+
+    @Test
+    void missingArgumentIsStillReported() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> proc.newLineParser("--level 1 --name").setExitOnError(false).processCommandLine());
+        assertEquals(List.of(CmdLnError.Kind.MISSING_ARGUMENT), e.getErrors().stream().map(CmdLnError::kind).toList());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void onlySingleUseParsersMarkTheSharedData() {
+        CompiledCmdProc shared = new CompiledCmdProc(CmdLnInfo.findAnnotatedMembers(new Class<?>[] { Shared.class }), false);
+        CmdProc         parser = shared.newParser("--shared");
+        parser.processCommandLine();
+
+        FPData fp = shared.getInfo().cmdLnData().get(0);
+        assertTrue(parser.isSet(fp));
+        assertTrue(fp.notSet());
+
+        CmdProc single = new CmdProc(new String[] { "--single" }, false, Single.class);
+        single.processCommandLine();
+        assertFalse(single.getInfo().cmdLnData().get(0).notSet());
+    }
+
+    record Options(@CmdParam(longName = "name", shortName = 'n') String name, @CmdParam(longName = "level", required = true) int level) { }
+
+    static class Shared {
+        static @CmdFlag(longName = "shared") boolean shared;
+    }
+
+    static class Single {
+        static @CmdFlag(longName = "single") boolean single;
+    }
+}
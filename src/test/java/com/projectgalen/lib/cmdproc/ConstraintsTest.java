@@ -0,0 +1,78 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ConstraintsTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The rules are kept as bit masks of several words once there are more than 64 options, so these use rules that span the words.
+ */
+class ConstraintsTest {
+
+    private static final int          COUNT   = 130;
+    private static final List<FPData> OPTIONS = IntStream.range(0, COUNT).mapToObj(i -> option(i, (i == 100))).toList();
+
+    private final Constraints constraints = Constraints.compile(OPTIONS,
+                                                                new OptionIndex(OPTIONS),
+                                                                List.of(new Constraints.Rule(null, new String[] { "--o3", "--o70", "--o129" }, "test"),
+                                                                        new Constraints.Rule("--o66", new String[] { "--o1", "--o128" }, "test")));
+
+    @Test
+    void requiredOptionPastTheFirstWord() {
+        assertEquals(List.of("MISSING_REQUIRED --o100"), check());
+        assertEquals(List.of(), check(100));
+    }
+
+    @Test
+    void conflictsAcrossWords() {
+        assertEquals(List.of(), check(100, 3));
+        assertEquals(List.of(), check(100, 129));
+        assertEquals(List.of("CONFLICTING_OPTIONS --o3"), check(100, 3, 70));
+        assertEquals(List.of("CONFLICTING_OPTIONS --o70"), check(100, 70, 129));
+        assertEquals(List.of("--o3", "--o129"), constraints.conflictsWith(70));
+    }
+
+    @Test
+    void requirementsAcrossWords() {
+        assertEquals(List.of("MISSING_DEPENDENCY --o66"), check(100, 66, 1));
+        assertEquals(List.of("MISSING_DEPENDENCY --o66"), check(100, 66, 128));
+        assertEquals(List.of(), check(100, 66, 1, 128));
+        assertEquals(List.of("--o1", "--o128"), constraints.requiredBy(66));
+    }
+
+    private @NotNull List<String> check(int... ordinals) {
+        long[] set = new long[(COUNT + 63) >>> 6];
+        for(int ordinal : ordinals) set[ordinal >>> 6] |= (1L << ordinal);
+
+        List<String> problems = new ArrayList<>();
+        constraints.check(set, (kind, option, message) -> problems.add(kind + " " + option));
+        assertEquals(problems.isEmpty(), constraints.isSatisfied(set));
+        return problems;
+    }
+
+    private static @NotNull FPData option(int ordinal, boolean required) {
+        return new FPData(true, required, "o" + ordinal, 0, "", new String[0], "ConstraintsTest.o" + ordinal, (target, value) -> { });
+    }
+}
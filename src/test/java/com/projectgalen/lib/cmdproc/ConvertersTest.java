@@ -0,0 +1,43 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ConvertersTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConvertersTest {
+
+    @Test
+    void convertsEnums() {
+        assertTrue(Converters.has(Color.class));
+        assertEquals(Color.GREEN, Converters.get(Color.class).convert("GREEN"));
+        assertSame(Converters.get(Color.class), Converters.get(Color.class));
+        assertThrows(IllegalArgumentException.class, () -> Converters.get(Color.class).convert("PURPLE"));
+    }
+
+    @Test
+    void registeredEnumConverterWins() {
+        Converters.register(Shape.class, v -> Shape.valueOf(v.toUpperCase()));
+        assertEquals(Shape.ROUND, Converters.get(Shape.class).convert("round"));
+    }
+
+    enum Color {RED, GREEN}
+
+    enum Shape {ROUND, SQUARE}
+}
@@ -0,0 +1,75 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: LineTokenizerTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineTokenizerTest {
+
+    @Test
+    void quotes() {
+        assertEquals(List.of("a", "b c", "d e", "fgh"), tokens("a 'b c' \"d e\" f'g'\"h\""));
+        assertEquals(List.of("", ""), tokens("'' \"\""));
+        assertEquals(List.of("a\\b", "it's"), tokens("'a\\b' \"it's\""));
+        assertEquals(List.of("a \"b\" c"), tokens("'a \"b\" c'"));
+    }
+
+    @Test
+    void escapes() {
+        assertEquals(List.of("a b", "x\\"), tokens("a\\ b x\\"));
+        assertEquals(List.of("a$b\"c\\d\\e`"), tokens("\"a\\$b\\\"c\\\\d\\e\\`\""));
+        assertEquals(List.of("-x", "\\-x", "\\-x"), tokens("\\-x '\\-x' \\\\-x"));
+    }
+
+    @Test
+    void lineEndings() {
+        assertEquals(List.of("abcd", "ef", "gh"), tokens("ab\\\ncd \"e\\\r\nf\" \\\r\ngh"));
+        assertEquals(List.of("a", "b#c", "d"), tokens("a # comment\r\nb#c\n#another\nd"));
+    }
+
+    @Test
+    void unclosedQuoteSkipsTheRest() {
+        for(String line : List.of("a 'b c", "a \"b c", "a \"b\\\"")) {
+            LineTokenizer t = new LineTokenizer(line);
+            assertEquals("a", String.valueOf(t.next()));
+            assertThrows(IllegalArgumentException.class, t::next);
+            assertNull(t.next());
+        }
+    }
+
+    @Test
+    void decodesBytes() {
+        assertEquals(List.of("--name", "x y"), tokens(LineTokenizer.decode(ByteBuffer.wrap("--name 'x y'".getBytes(StandardCharsets.US_ASCII)))));
+        assertEquals(List.of("--name", "\u00e9t\u00e9"), tokens(LineTokenizer.decode(ByteBuffer.wrap("--name \u00e9t\u00e9".getBytes(StandardCharsets.UTF_8)))));
+    }
+
+    private static @NotNull List<String> tokens(@NotNull CharSequence line) {
+        LineTokenizer t    = new LineTokenizer(line);
+        List<String>  list = new ArrayList<>();
+        for(CharSequence cs = t.next(); cs != null; cs = t.next()) list.add(cs.toString());
+        return list;
+    }
+}
@@ -0,0 +1,70 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: SubcommandsTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubcommandsTest {
+
+    private final Subcommands commands = new Subcommands(false, false, false, Global.class).addType("push", () -> Push.class);
+
+    @Test
+    void runsTheSubcommand() {
+        Subcommands.Invocation run = commands.processCommandLine("--verbose", "push", "--remote", "origin");
+        assertEquals("push", run.name());
+        assertEquals(new Push("origin"), run.command().getResult());
+    }
+
+    @Test
+    void missingSubcommandIsThrown() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> commands.processCommandLine("--verbose"));
+        assertEquals(CmdLnError.Kind.MISSING_SUBCOMMAND, e.getErrors().get(0).kind());
+    }
+
+    @Test
+    void unknownSubcommandIsThrown() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> commands.processCommandLine("pull"));
+        assertEquals(CmdLnError.Kind.UNKNOWN_SUBCOMMAND, e.getErrors().get(0).kind());
+    }
+
+    @Test
+    void helpWithoutSubcommandIsReturned() {
+        for(String[] args : new String[][] { { "--help" }, { "--help", "pull" } }) {
+            Subcommands.Invocation run = commands.processCommandLine(args);
+            assertTrue(run.global().isHelpRequested());
+            assertNull(run.name());
+            assertNull(run.command());
+        }
+    }
+
+    @Test
+    void subcommandErrorsAreThrown() {
+        CmdLnException e = assertThrows(CmdLnException.class, () -> commands.processCommandLine("push", "--bogus"));
+        assertEquals(CmdLnError.Kind.UNKNOWN_OPTION, e.getErrors().get(0).kind());
+    }
+
+    static class Global {
+        static @CmdFlag(longName = "verbose") boolean verbose;
+    }
+
+    record Push(@CmdParam(longName = "remote") String remote) { }
+}
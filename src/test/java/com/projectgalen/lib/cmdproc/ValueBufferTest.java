@@ -0,0 +1,65 @@
+package com.projectgalen.lib.cmdproc;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: ValueBufferTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.annotations.CmdFlag;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValueBufferTest {
+
+    private final CompiledCmdProc proc = new CompiledCmdProc(CmdLnInfo.findAnnotatedMembers(new Class<?>[] { Options.class }), false);
+
+    @Test
+    void splitsAtTheSeparator() {
+        assertEquals(List.of("a,b"), ValueBuffer.split("a,b", ""));
+        assertEquals(List.of("a", "b", "c"), ValueBuffer.split("a,b,,c,", ","));
+        assertEquals(List.of("a", "b"), ValueBuffer.split("::a::b", "::"));
+        assertEquals(List.of(), ValueBuffer.split(",,", ","));
+        assertEquals(List.of(), ValueBuffer.split("", ","));
+    }
+
+    @Test
+    void collectsSeparatedValues() {
+        proc.newParser("--ports", "80,443", "--ports=8080", "--tags", "a;;b", "--tags", "c").processCommandLine();
+        assertArrayEquals(new int[] { 80, 443, 8080 }, Options.ports);
+        assertEquals(List.of("a", "b", "c"), Options.tags);
+    }
+
+    @Test
+    void countsFlags() {
+        proc.newParser("-vv", "--verbose", "-q", "-q").processCommandLine();
+        assertEquals(3, Options.verbose);
+        assertEquals(2L, Options.quiet);
+
+        proc.newParser("-vvv-v", "-q-").processCommandLine();
+        assertEquals(1, Options.verbose);
+        assertEquals(0L, Options.quiet);
+    }
+
+    static class Options {
+        static @CmdParam(longName = "ports", separator = ",")  int[]        ports;
+        static @CmdParam(longName = "tags", separator = ";")   List<String> tags;
+        static @CmdFlag(longName = "verbose", shortName = 'v') int          verbose;
+        static @CmdFlag(shortName = 'q')                       long         quiet;
+    }
+}
@@ -0,0 +1,109 @@
+package com.projectgalen.lib.cmdproc.server;
+// ================================================================================================================================
+//     PROJECT: PGJCmdProc
+//    FILENAME: CommandServerTest.java
+//         IDE: IntelliJ IDEA
+//      AUTHOR: Galen Rhodes
+//        DATE: October 18, 2026
+//
+// Copyright © 2026 Project Galen. All rights reserved.
+//
+// Permission to use, copy, modify, and distribute this software for any purpose with or without fee is hereby granted, provided
+// that the above copyright notice and this permission notice appear in all copies.
+//
+// THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED
+// WARRANTIES OF MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY SPECIAL, DIRECT, INDIRECT, OR
+// CONSEQUENTIAL DAMAGES OR ANY DAMAGES WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN ACTION OF CONTRACT,
+// NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+// ================================================================================================================================
+
+import com.projectgalen.lib.cmdproc.CmdLnInfo;
+import com.projectgalen.lib.cmdproc.CompiledCmdProc;
+import com.projectgalen.lib.cmdproc.OptionSources;
+import com.projectgalen.lib.cmdproc.annotations.CmdParam;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandServerTest {
+
+    private final CommandServer server = new CommandServer(Path.of("unused.sock"));
+
+    @Test
+    void acceptsAParserThatReadsNothingLocally() {
+        assertDoesNotThrow(() -> server.add("echo", Echo.class, parser(false, false, false), (options, context) -> 0));
+    }
+
+    @Test
+    void rejectsParsersThatReadTheServersFiles() {
+        assertThrows(IllegalArgumentException.class, () -> server.add("echo", Echo.class, parser(false, true, false), (options, context) -> 0));
+        assertThrows(IllegalArgumentException.class, () -> server.add("echo", Echo.class, parser(true, false, false), (options, context) -> 0));
+        assertThrows(IllegalArgumentException.class, () -> server.add("echo", Echo.class, parser(false, false, true), (options, context) -> 0));
+    }
+
+    @Test
+    void leavesTheSocketOfARunningServerAlone() throws Exception {
+        Path sock = Files.createTempDirectory("cmdproc").resolve("live.sock");
+        CommandServer live   = new CommandServer(sock);
+        Thread        thread = Thread.ofVirtual().start(() -> serveQuietly(live));
+        awaitListening(sock);
+
+        assertThrows(BindException.class, () -> new CommandServer(sock).serve());
+        assertTrue(Files.exists(sock));
+        live.close();
+        thread.join();
+        assertFalse(Files.exists(sock));
+    }
+
+    @Test
+    void replacesAStaleSocket() throws Exception {
+        Path sock = Files.createTempDirectory("cmdproc").resolve("stale.sock");
+        try(ServerSocketChannel ch = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            ch.bind(UnixDomainSocketAddress.of(sock));
+        }
+        assertTrue(Files.exists(sock));
+
+        CommandServer fresh  = new CommandServer(sock);
+        Thread        thread = Thread.ofVirtual().start(() -> serveQuietly(fresh));
+        awaitListening(sock);
+        fresh.close();
+        thread.join();
+        assertFalse(Files.exists(sock));
+    }
+
+    private static void awaitListening(Path sock) throws InterruptedException {
+        for(;;) {
+            try {
+                SocketChannel.open(UnixDomainSocketAddress.of(sock)).close();
+                return;
+            }
+            catch(IOException e) {
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static void serveQuietly(CommandServer server) {
+        try {
+            server.serve();
+        }
+        catch(IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static CompiledCmdProc parser(boolean allowStdInRedirection, boolean expandArgFiles, boolean exitOnError) {
+        return new CompiledCmdProc(CmdLnInfo.forType(Echo.class), allowStdInRedirection, expandArgFiles, OptionSources.NONE, exitOnError);
+    }
+
+    record Echo(@CmdParam(longName = "text") String text) { }
+}